@@ -0,0 +1,158 @@
+package ru.practicum.shareit.benchmarks;
+
+import ru.practicum.shareit.booking.dto.BookingFullDto;
+import ru.practicum.shareit.booking.dto.BookingInItemDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingMapper;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.dto.CommentFullDto;
+import ru.practicum.shareit.item.dto.ItemFullDto;
+import ru.practicum.shareit.item.dto.ItemInRequestDto;
+import ru.practicum.shareit.item.mapper.CommentMapper;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.dto.RequestWithItemsDto;
+import ru.practicum.shareit.request.mapper.ItemRequestMapper;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+public class BenchmarkData {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2030, 1, 1, 12, 0);
+    private static final int COMMENTS_PER_ITEM = 3;
+    private static final int ITEMS_PER_REQUEST = 2;
+
+    public static List<User> users(int size) {
+        return LongStream.rangeClosed(1, size)
+                .mapToObj(BenchmarkData::user)
+                .collect(Collectors.toList());
+    }
+
+    public static List<ItemRequest> requests(int size) {
+        return LongStream.rangeClosed(1, size)
+                .mapToObj(BenchmarkData::request)
+                .collect(Collectors.toList());
+    }
+
+    public static List<Item> items(int size) {
+        return LongStream.rangeClosed(1, size)
+                .mapToObj(BenchmarkData::item)
+                .collect(Collectors.toList());
+    }
+
+    public static List<Booking> bookings(int size) {
+        return LongStream.rangeClosed(1, size)
+                .mapToObj(BenchmarkData::booking)
+                .collect(Collectors.toList());
+    }
+
+    public static List<Comment> comments(int size) {
+        return LongStream.rangeClosed(1, size)
+                .mapToObj(BenchmarkData::comment)
+                .collect(Collectors.toList());
+    }
+
+    public static List<BookingFullDto> bookingFullDtos(int size) {
+        return bookings(size).stream()
+                .map(BookingMapper::toBookingFullDto)
+                .collect(Collectors.toList());
+    }
+
+    public static List<ItemFullDto> itemFullDtos(int size) {
+        return items(size).stream()
+                .map(BenchmarkData::itemFullDto)
+                .collect(Collectors.toList());
+    }
+
+    public static List<RequestWithItemsDto> requestWithItemsDtos(int size) {
+        return requests(size).stream()
+                .map(BenchmarkData::requestWithItemsDto)
+                .collect(Collectors.toList());
+    }
+
+    private static User user(long id) {
+        return User.builder()
+                .id(id)
+                .name("userName" + id)
+                .email("user" + id + "@email.ru")
+                .build();
+    }
+
+    private static ItemRequest request(long id) {
+        return ItemRequest.builder()
+                .id(id)
+                .description("requestDescription" + id)
+                .requester(user(id))
+                .created(NOW.minusDays(id))
+                .build();
+    }
+
+    private static Item item(long id) {
+        return Item.builder()
+                .id(id)
+                .name("itemName" + id)
+                .description("itemDescription" + id)
+                .available(true)
+                .owner(user(id))
+                .request(request(id))
+                .build();
+    }
+
+    private static Booking booking(long id) {
+        return Booking.builder()
+                .id(id)
+                .start(NOW.plusDays(id))
+                .end(NOW.plusDays(id + 1))
+                .item(item(id))
+                .booker(user(id + 1))
+                .status(BookingStatus.APPROVED)
+                .build();
+    }
+
+    private static Comment comment(long id) {
+        return Comment.builder()
+                .id(id)
+                .text("commentText" + id)
+                .item(item(id))
+                .author(user(id + 1))
+                .created(NOW.minusHours(id))
+                .build();
+    }
+
+    private static ItemFullDto itemFullDto(Item item) {
+        ItemFullDto itemFullDto = ItemMapper.toItemFullDto(item);
+        itemFullDto.setLastBooking(bookingInItemDto(item.getId(), NOW.minusDays(2)));
+        itemFullDto.setNextBooking(bookingInItemDto(item.getId() + 1, NOW.plusDays(2)));
+        List<CommentFullDto> comments = LongStream.range(0, COMMENTS_PER_ITEM)
+                .mapToObj(i -> comment(item.getId() * COMMENTS_PER_ITEM + i))
+                .map(CommentMapper::toCommentFullDto)
+                .collect(Collectors.toList());
+        itemFullDto.setComments(comments);
+        return itemFullDto;
+    }
+
+    private static BookingInItemDto bookingInItemDto(long id, LocalDateTime start) {
+        return BookingInItemDto.builder()
+                .id(id)
+                .start(start)
+                .end(start.plusDays(1))
+                .bookerId(id + 1)
+                .build();
+    }
+
+    private static RequestWithItemsDto requestWithItemsDto(ItemRequest request) {
+        RequestWithItemsDto requestWithItemsDto = ItemRequestMapper.toRequestWithItemsDto(request);
+        List<ItemInRequestDto> items = LongStream.range(0, ITEMS_PER_REQUEST)
+                .mapToObj(i -> item(request.getId() * ITEMS_PER_REQUEST + i).toBuilder().request(request).build())
+                .map(ItemMapper::toItemResponseInRequest)
+                .collect(Collectors.toList());
+        requestWithItemsDto.setItems(items);
+        return requestWithItemsDto;
+    }
+}
@@ -0,0 +1,93 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import ru.practicum.shareit.booking.dto.BookingFullDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingMapper;
+import ru.practicum.shareit.item.dto.CommentFullDto;
+import ru.practicum.shareit.item.dto.ItemInRequestDto;
+import ru.practicum.shareit.item.dto.ItemOutDto;
+import ru.practicum.shareit.item.mapper.CommentMapper;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.dto.RequestWithItemsDto;
+import ru.practicum.shareit.request.mapper.ItemRequestMapper;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.mapper.UserMapper;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int size;
+
+    private Page<Booking> bookings;
+    private Page<Item> items;
+    private List<Item> requestItems;
+    private List<Comment> comments;
+    private List<ItemRequest> requests;
+    private List<User> users;
+
+    @Setup
+    public void setUp() {
+        bookings = new PageImpl<>(BenchmarkData.bookings(size));
+        items = new PageImpl<>(BenchmarkData.items(size));
+        requestItems = items.getContent();
+        comments = BenchmarkData.comments(size);
+        requests = BenchmarkData.requests(size);
+        users = BenchmarkData.users(size);
+    }
+
+    @Benchmark
+    public List<BookingFullDto> bookingsToDtoList() {
+        return BookingMapper.toBookingDtoList(bookings);
+    }
+
+    @Benchmark
+    public List<ItemOutDto> itemsToDtoList() {
+        return ItemMapper.toItemDtoList(items);
+    }
+
+    @Benchmark
+    public List<ItemInRequestDto> itemsToItemInRequestDtoList() {
+        return ItemMapper.toItemResponseInRequestDtoList(requestItems);
+    }
+
+    @Benchmark
+    public List<CommentFullDto> commentsToDtoList() {
+        return CommentMapper.toCommentDtoList(comments);
+    }
+
+    @Benchmark
+    public List<RequestWithItemsDto> requestsToDtoList() {
+        return ItemRequestMapper.toRequestWithItemsDtoList(requests);
+    }
+
+    @Benchmark
+    public List<UserDto> usersToDtoList() {
+        return UserMapper.toUserDtoList(users);
+    }
+}
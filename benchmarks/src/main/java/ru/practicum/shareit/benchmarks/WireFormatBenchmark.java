@@ -0,0 +1,78 @@
+package ru.practicum.shareit.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// the internal hop: the server encodes response DTOs, the gateway decodes them into plain maps and lists
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WireFormatBenchmark {
+
+    @Param({"json", "smile"})
+    private String format;
+
+    @Param({"1", "10", "100"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private List<?> bookings;
+    private List<?> items;
+    private byte[] encodedBookings;
+    private byte[] encodedItems;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = ("smile".equals(format) ? SmileMapper.builder() : JsonMapper.builder())
+                .addModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        bookings = BenchmarkData.bookingFullDtos(size);
+        items = BenchmarkData.itemFullDtos(size);
+        encodedBookings = objectMapper.writeValueAsBytes(bookings);
+        encodedItems = objectMapper.writeValueAsBytes(items);
+        System.out.printf("%n%s, %d rows: bookings %d bytes, items %d bytes%n",
+                format, size, encodedBookings.length, encodedItems.length);
+    }
+
+    @Benchmark
+    public byte[] encodeBookings() throws IOException {
+        return objectMapper.writeValueAsBytes(bookings);
+    }
+
+    @Benchmark
+    public byte[] encodeItems() throws IOException {
+        return objectMapper.writeValueAsBytes(items);
+    }
+
+    @Benchmark
+    public Object decodeBookings() throws IOException {
+        return objectMapper.readValue(encodedBookings, Object.class);
+    }
+
+    @Benchmark
+    public Object decodeItems() throws IOException {
+        return objectMapper.readValue(encodedItems, Object.class);
+    }
+}
@@ -0,0 +1,117 @@
+package ru.practicum.shareit.benchmarks;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import ru.practicum.shareit.booking.BookingClient;
+import ru.practicum.shareit.booking.dto.SearchCondition;
+import ru.practicum.shareit.client.RequestCoalescer;
+import ru.practicum.shareit.client.ServerCallGuards;
+import ru.practicum.shareit.client.ServerCallProperties;
+import ru.practicum.shareit.item.ItemClient;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// run with -prof gc and compare gc.alloc.rate.norm of the legacy* benchmarks with their counterparts
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ForwardingBenchmark {
+
+    private static final String SERVER_URL = "http://localhost:9090";
+    private static final long USER_ID = 42L;
+    private static final long ITEM_ID = 7L;
+    private static final String TEXT = "drill";
+
+    private ItemClient itemClient;
+    private BookingClient bookingClient;
+    private RestTemplate legacyItemsRest;
+    private RestTemplate legacyBookingsRest;
+
+    @Setup
+    public void setUp() {
+        ServerStub serverStub = new ServerStub();
+        RestTemplateBuilder builder = new RestTemplateBuilder()
+                .additionalCustomizers(rest -> rest.setRequestFactory(serverStub));
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        RequestCoalescer requestCoalescer = new RequestCoalescer(meterRegistry, true);
+        ServerCallGuards serverCallGuards = new ServerCallGuards(new ServerCallProperties(), meterRegistry);
+        itemClient = new ItemClient(SERVER_URL, builder, requestCoalescer, serverCallGuards);
+        bookingClient = new BookingClient(SERVER_URL, builder, requestCoalescer, serverCallGuards);
+        legacyItemsRest = builder.uriTemplateHandler(new DefaultUriBuilderFactory(SERVER_URL + "/items")).build();
+        legacyBookingsRest = builder.uriTemplateHandler(new DefaultUriBuilderFactory(SERVER_URL + "/bookings")).build();
+    }
+
+    @Benchmark
+    public ResponseEntity<Object> searchItems() {
+        return itemClient.search(TEXT, USER_ID, 0, 10);
+    }
+
+    @Benchmark
+    public ResponseEntity<Object> legacySearchItems() {
+        Map<String, Object> parameters = Map.of(
+                "text", TEXT,
+                "from", 0,
+                "size", 10
+        );
+        return legacyItemsRest.exchange("/search?text={text}&from={from}&size={size}", HttpMethod.GET,
+                new HttpEntity<>(null, legacyHeaders(USER_ID)), Object.class, parameters);
+    }
+
+    @Benchmark
+    public ResponseEntity<Object> getItem() {
+        return itemClient.getById(USER_ID, ITEM_ID);
+    }
+
+    @Benchmark
+    public ResponseEntity<Object> legacyGetItem() {
+        return legacyItemsRest.exchange("/" + ITEM_ID, HttpMethod.GET,
+                new HttpEntity<>(null, legacyHeaders(USER_ID)), Object.class);
+    }
+
+    @Benchmark
+    public ResponseEntity<Object> findBookings() {
+        return bookingClient.getBookingsForBooker(USER_ID, SearchCondition.ALL, 0, 10);
+    }
+
+    @Benchmark
+    public ResponseEntity<Object> legacyFindBookings() {
+        Map<String, Object> parameters = Map.of(
+                "state", SearchCondition.ALL.name(),
+                "from", 0,
+                "size", 10
+        );
+        return legacyBookingsRest.exchange("?state={state}&from={from}&size={size}", HttpMethod.GET,
+                new HttpEntity<>(null, legacyHeaders(USER_ID)), Object.class, parameters);
+    }
+
+    // headers as BaseClient built them before the forwarding path was reworked
+    private static HttpHeaders legacyHeaders(Long userId) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        headers.set("X-Sharer-User-Id", String.valueOf(userId));
+        return headers;
+    }
+}
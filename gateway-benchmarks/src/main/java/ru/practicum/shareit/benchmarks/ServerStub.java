@@ -0,0 +1,97 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.AbstractClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+
+// answers every request in memory, so the benchmarks measure the gateway side only
+class ServerStub implements ClientHttpRequestFactory {
+
+    private static final byte[] EMPTY_LIST = "[]".getBytes(StandardCharsets.UTF_8);
+    private static final HttpHeaders RESPONSE_HEADERS = HttpHeaders.readOnlyHttpHeaders(jsonHeaders());
+
+    @Override
+    public StubRequest createRequest(URI uri, HttpMethod httpMethod) {
+        return new StubRequest(uri, httpMethod);
+    }
+
+    private static HttpHeaders jsonHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setContentLength(EMPTY_LIST.length);
+        return headers;
+    }
+
+    private static class StubRequest extends AbstractClientHttpRequest {
+        private final URI uri;
+        private final HttpMethod method;
+
+        private StubRequest(URI uri, HttpMethod method) {
+            this.uri = uri;
+            this.method = method;
+        }
+
+        @Override
+        public String getMethodValue() {
+            return method.name();
+        }
+
+        @Override
+        public URI getURI() {
+            return uri;
+        }
+
+        @Override
+        protected OutputStream getBodyInternal(HttpHeaders headers) {
+            return new ByteArrayOutputStream();
+        }
+
+        @Override
+        protected ClientHttpResponse executeInternal(HttpHeaders headers) {
+            return new StubResponse();
+        }
+    }
+
+    private static class StubResponse implements ClientHttpResponse {
+
+        @Override
+        public HttpStatus getStatusCode() {
+            return HttpStatus.OK;
+        }
+
+        @Override
+        public int getRawStatusCode() {
+            return HttpStatus.OK.value();
+        }
+
+        @Override
+        public String getStatusText() {
+            return HttpStatus.OK.getReasonPhrase();
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public InputStream getBody() {
+            return new ByteArrayInputStream(EMPTY_LIST);
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return RESPONSE_HEADERS;
+        }
+    }
+}
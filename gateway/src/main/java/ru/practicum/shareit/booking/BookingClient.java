@@ -4,27 +4,36 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.booking.dto.BookingInputDto;
 import ru.practicum.shareit.booking.dto.SearchCondition;
 import ru.practicum.shareit.client.BaseClient;
-
-import java.util.Map;
+import ru.practicum.shareit.client.RequestCoalescer;
+import ru.practicum.shareit.client.ServerCallGuards;
+import ru.practicum.shareit.client.PathTemplate;
 
 @Service
 public class BookingClient extends BaseClient {
 
     private static final String API_PREFIX = "/bookings";
+    private static final String CLIENT_NAME = "bookings";
+    private static final PathTemplate APPROVE = PathTemplate.compile("/{bookingId}?approved={approved}");
+    private static final PathTemplate BOOKER_BOOKINGS = PathTemplate.compile("?state={state}&from={from}&size={size}");
+    private static final PathTemplate OWNER_BOOKINGS =
+            PathTemplate.compile("/owner?state={state}&from={from}&size={size}");
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl,
+                         RestTemplateBuilder builder,
+                         RequestCoalescer requestCoalescer,
+                         ServerCallGuards serverCallGuards) {
         super(
                 builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .requestFactory(serverCallGuards.forClient(CLIENT_NAME)::requestFactory)
+                        .build(),
+                serverUrl + API_PREFIX,
+                requestCoalescer,
+                serverCallGuards.forClient(CLIENT_NAME)
         );
     }
 
@@ -33,10 +42,7 @@ public class BookingClient extends BaseClient {
     }
 
     public ResponseEntity<Object> update(Long userId, Long bookingId, Boolean approved) {
-        Map<String, Object> parameters = Map.of(
-                "approved", approved
-        );
-        return patch("/" + bookingId + "?approved={approved}", userId, parameters);
+        return patch(APPROVE.expand(bookingId, approved), userId, null);
     }
 
     public ResponseEntity<Object> getById(Long userId, Long bookingId) {
@@ -44,20 +50,10 @@ public class BookingClient extends BaseClient {
     }
 
     public ResponseEntity<Object> getBookingsForBooker(long userId, SearchCondition state, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
-                "state", state.name(),
-                "from", from,
-                "size", size
-        );
-        return get("?state={state}&from={from}&size={size}", userId, parameters);
+        return get(BOOKER_BOOKINGS.expand(state.name(), from, size), userId);
     }
 
     public ResponseEntity<Object> getBookingsForOwner(long userId, SearchCondition state, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
-                "state", state.name(),
-                "from", from,
-                "size", size
-        );
-        return get("/owner?state={state}&from={from}&size={size}", userId, parameters);
+        return get(OWNER_BOOKINGS.expand(state.name(), from, size), userId);
     }
 }
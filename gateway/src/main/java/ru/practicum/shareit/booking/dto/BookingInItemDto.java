@@ -1,18 +0,0 @@
-package ru.practicum.shareit.booking.dto;
-
-import lombok.AllArgsConstructor;
-import lombok.EqualsAndHashCode;
-import lombok.Getter;
-import lombok.NoArgsConstructor;
-import lombok.Setter;
-import lombok.experimental.SuperBuilder;
-
-@Setter
-@Getter
-@AllArgsConstructor
-@NoArgsConstructor
-@SuperBuilder(toBuilder = true)
-@EqualsAndHashCode(callSuper = true)
-public class BookingInItemDto extends BookingBaseDto {
-    private Long bookerId;
-}
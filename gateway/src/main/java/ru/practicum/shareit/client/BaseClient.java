@@ -1,118 +1,252 @@
 package ru.practicum.shareit.client;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.server.ServerHttpResponse;
 import org.springframework.lang.Nullable;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.StreamUtils;
 import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
 
 public class BaseClient {
 
+    private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+    // streamed bytes are passed on unchanged, so they have to be JSON whatever the wire format
+    private static final List<MediaType> STREAM_ACCEPT = List.of(MediaType.APPLICATION_JSON);
+
     protected final RestTemplate rest;
+    private final String baseUrl;
+    private final RequestCoalescer requestCoalescer;
+    private final ServerCallGuard serverCallGuard;
+    private final WireFormat wireFormat;
+    private final HttpEntity<Object> noUserRequest;
 
-    public BaseClient(RestTemplate rest) {
+    public BaseClient(RestTemplate rest,
+                      String baseUrl,
+                      RequestCoalescer requestCoalescer,
+                      ServerCallGuard serverCallGuard) {
         this.rest = rest;
+        this.baseUrl = baseUrl;
+        this.requestCoalescer = requestCoalescer;
+        this.serverCallGuard = serverCallGuard;
+        this.wireFormat = serverCallGuard.getWireFormat();
+        this.noUserRequest = new HttpEntity<>(HttpHeaders.readOnlyHttpHeaders(
+                new HttpHeaders(new LinkedMultiValueMap<>(Map.of(HttpHeaders.ACCEPT, wireFormat.accept)))));
     }
 
     protected ResponseEntity<Object> get(String path) {
-        return get(path, null, null);
-    }
-
-    protected ResponseEntity<Object> get(String path, long userId) {
-        return get(path, userId, null);
+        return get(path, null);
     }
 
-    protected ResponseEntity<Object> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
-        return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
+    protected ResponseEntity<Object> get(String path, Long userId) {
+        return makeAndSendRequest(HttpMethod.GET, path, userId, null);
     }
 
     protected <T> ResponseEntity<Object> post(String path, T body) {
-        return post(path, null, null, body);
-    }
-
-    protected <T> ResponseEntity<Object> post(String path, long userId, T body) {
-        return post(path, userId, null, body);
+        return post(path, null, body);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
-        return makeAndSendRequest(HttpMethod.POST, path, userId, parameters, body);
+    protected <T> ResponseEntity<Object> post(String path, Long userId, T body) {
+        return makeAndSendRequest(HttpMethod.POST, path, userId, body);
     }
 
     protected <T> ResponseEntity<Object> put(String path, long userId, T body) {
-        return put(path, userId, null, body);
-    }
-
-    protected <T> ResponseEntity<Object> put(String path, long userId, @Nullable Map<String, Object> parameters, T body) {
-        return makeAndSendRequest(HttpMethod.PUT, path, userId, parameters, body);
+        return makeAndSendRequest(HttpMethod.PUT, path, userId, body);
     }
 
     protected <T> ResponseEntity<Object> patch(String path, T body) {
-        return patch(path, null, null, body);
+        return patch(path, null, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, long userId) {
-        return patch(path, userId, null, null);
+    protected <T> ResponseEntity<Object> patch(String path, Long userId, T body) {
+        return makeAndSendRequest(HttpMethod.PATCH, path, userId, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, long userId, T body) {
-        return patch(path, userId, null, body);
+    protected ResponseEntity<Object> delete(String path) {
+        return delete(path, null);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, long userId, Map<String, Object> parameters) {
-        return patch(path, userId, parameters, null);
+    protected ResponseEntity<Object> delete(String path, Long userId) {
+        return makeAndSendRequest(HttpMethod.DELETE, path, userId, null);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
-        return makeAndSendRequest(HttpMethod.PATCH, path, userId, parameters, body);
+    // copies the server's JSON response to the caller as it arrives instead of reading it into memory first.
+    // A failed write to the caller, e.g. an aborted download, is no failure of the server: it is rethrown only
+    // after the guard has counted the call
+    protected void stream(String path, ServerHttpResponse target) {
+        AtomicReference<IOException> callerFailure = new AtomicReference<>();
+        serverCallGuard.call(() -> {
+            try {
+                return rest.execute(URI.create(baseUrl + path), HttpMethod.GET,
+                        request -> request.getHeaders().setAccept(STREAM_ACCEPT),
+                        response -> {
+                            target.setStatusCode(response.getStatusCode());
+                            target.getHeaders().setContentType(response.getHeaders().getContentType());
+                            callerFailure.set(copy(response.getBody(), target));
+                            return ResponseEntity.status(response.getStatusCode()).build();
+                        });
+            } catch (HttpStatusCodeException e) {
+                target.setStatusCode(e.getStatusCode());
+                target.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+                byte[] body = e.getResponseBodyAsByteArray();
+                callerFailure.set(write(target, body, body.length));
+                return ResponseEntity.status(e.getStatusCode()).build();
+            }
+        });
+        if (Objects.nonNull(callerFailure.get())) {
+            throw new UncheckedIOException(callerFailure.get());
+        }
     }
 
-    protected ResponseEntity<Object> delete(String path) {
-        return delete(path, null, null);
+    // read failures are the server's and propagate, a write failure ends the copy and is returned
+    @Nullable
+    private static IOException copy(InputStream in, ServerHttpResponse target) throws IOException {
+        byte[] buffer = new byte[StreamUtils.BUFFER_SIZE];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            IOException failure = write(target, buffer, read);
+            if (Objects.nonNull(failure)) {
+                return failure;
+            }
+        }
+        try {
+            target.getBody().flush();
+            return null;
+        } catch (IOException e) {
+            return e;
+        }
     }
 
-    protected ResponseEntity<Object> delete(String path, long userId) {
-        return delete(path, userId, null);
+    @Nullable
+    private static IOException write(ServerHttpResponse target, byte[] bytes, int length) {
+        try {
+            target.getBody().write(bytes, 0, length);
+            return null;
+        } catch (IOException e) {
+            return e;
+        }
     }
 
-    protected ResponseEntity<Object> delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
-        return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
+    private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable T body) {
+        ProxyRequestEvent event = new ProxyRequestEvent();
+        event.begin();
+        ResponseEntity<Object> response = null;
+        try {
+            String url = baseUrl + path;
+            Supplier<ResponseEntity<Object>> serverCall =
+                    () -> serverCallGuard.call(() -> exchange(method, url, userId, body));
+            // GETs are idempotent, so concurrent duplicates from the same user can share one response
+            if (method == HttpMethod.GET) {
+                response = requestCoalescer.coalesce(getClass().getSimpleName(), userId + " " + url, serverCall);
+            } else {
+                response = serverCall.get();
+            }
+            return response;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.client = getClass().getSimpleName();
+                event.method = method.name();
+                event.path = path;
+                event.userId = userId == null ? -1 : userId;
+                event.status = response == null ? 0 : response.getStatusCodeValue();
+                event.rows = rowsOf(response);
+                event.commit();
+            }
+        }
     }
 
-    private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
-        HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
-
+    private <T> ResponseEntity<Object> exchange(HttpMethod method, String url, Long userId, @Nullable T body) {
         ResponseEntity<Object> shareitServerResponse;
         try {
-            if (parameters != null) {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
-            } else {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
-            }
+            shareitServerResponse = rest.exchange(URI.create(url), method,
+                    requestEntity(userId, body), Object.class);
         } catch (HttpStatusCodeException e) {
-            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+            return ResponseEntity.status(e.getStatusCode()).body(errorBody(e));
         }
         return prepareGatewayResponse(shareitServerResponse);
     }
 
-    private HttpHeaders defaultHeaders(Long userId) {
+    @SuppressWarnings("unchecked")
+    private <T> HttpEntity<T> requestEntity(Long userId, @Nullable T body) {
+        if (userId == null && body == null) {
+            return (HttpEntity<T>) noUserRequest;
+        }
         HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        headers.put(HttpHeaders.ACCEPT, wireFormat.accept);
+        if (body != null) {
+            headers.put(HttpHeaders.CONTENT_TYPE, wireFormat.contentType);
+        }
         if (userId != null) {
-            headers.set("X-Sharer-User-Id", String.valueOf(userId));
+            headers.set(USER_ID_HEADER, userId.toString());
+        }
+        return new HttpEntity<>(body, headers);
+    }
+
+    private static int rowsOf(@Nullable ResponseEntity<Object> response) {
+        if (response == null || !response.hasBody()) {
+            return 0;
+        }
+        return response.getBody() instanceof Collection ? ((Collection<?>) response.getBody()).size() : 1;
+    }
+
+    // JSON error bodies are passed on as they are, binary ones are decoded for the gateway to render as JSON
+    @SuppressWarnings("unchecked")
+    private Object errorBody(HttpStatusCodeException e) {
+        byte[] body = e.getResponseBodyAsByteArray();
+        HttpHeaders headers = e.getResponseHeaders();
+        MediaType contentType = headers == null ? null : headers.getContentType();
+        if (body.length == 0 || contentType == null || MediaType.APPLICATION_JSON.isCompatibleWith(contentType)) {
+            return body;
+        }
+        HttpInputMessage message = new HttpInputMessage() {
+            @Override
+            public InputStream getBody() {
+                return new ByteArrayInputStream(body);
+            }
+
+            @Override
+            public HttpHeaders getHeaders() {
+                return headers;
+            }
+        };
+        for (HttpMessageConverter<?> converter : rest.getMessageConverters()) {
+            if (converter.canRead(Object.class, contentType)) {
+                try {
+                    return ((HttpMessageConverter<Object>) converter).read(Object.class, message);
+                } catch (IOException | HttpMessageNotReadableException ex) {
+                    return body;
+                }
+            }
         }
-        return headers;
+        return body;
     }
 
-    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
+    private ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
         if (response.getStatusCode().is2xxSuccessful()) {
-            return response;
+            // the gateway answers in JSON, so the server's Content-Type and Content-Length of a binary body must go
+            return wireFormat == WireFormat.JSON
+                    ? response
+                    : ResponseEntity.status(response.getStatusCode()).body(response.getBody());
         }
 
         ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
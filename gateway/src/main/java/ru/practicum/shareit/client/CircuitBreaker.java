@@ -0,0 +1,116 @@
+package ru.practicum.shareit.client;
+
+import ru.practicum.shareit.client.ServerCallProperties.ClientSettings;
+
+import java.util.function.LongSupplier;
+
+// count-based: the failure rate is taken over the outcomes of the last slidingWindowSize calls
+class CircuitBreaker {
+
+    enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final int failureRateThreshold;
+    private final int minimumCalls;
+    private final long waitInOpenNanos;
+    private final int permittedCallsInHalfOpen;
+    private final LongSupplier nanoClock;
+    private final boolean[] failed;
+
+    private State state = State.CLOSED;
+    private int position;
+    private int recorded;
+    private int failures;
+    private long openedAt;
+    private int halfOpenPermits;
+    private int halfOpenSuccesses;
+
+    CircuitBreaker(ClientSettings settings, LongSupplier nanoClock) {
+        this.failureRateThreshold = settings.getFailureRateThreshold();
+        this.minimumCalls = Math.min(settings.getMinimumCalls(), settings.getSlidingWindowSize());
+        this.waitInOpenNanos = settings.getWaitInOpenState().toNanos();
+        this.permittedCallsInHalfOpen = settings.getPermittedCallsInHalfOpenState();
+        this.nanoClock = nanoClock;
+        this.failed = new boolean[settings.getSlidingWindowSize()];
+    }
+
+    synchronized boolean tryAcquirePermission() {
+        if (state == State.OPEN) {
+            if (nanoClock.getAsLong() - openedAt < waitInOpenNanos) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+            halfOpenPermits = permittedCallsInHalfOpen;
+            halfOpenSuccesses = 0;
+        }
+        if (state == State.HALF_OPEN) {
+            if (halfOpenPermits == 0) {
+                return false;
+            }
+            halfOpenPermits--;
+        }
+        return true;
+    }
+
+    // the permitted call was not made
+    synchronized void releasePermission() {
+        if (state == State.HALF_OPEN) {
+            halfOpenPermits++;
+        }
+    }
+
+    synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            if (++halfOpenSuccesses >= permittedCallsInHalfOpen) {
+                close();
+            }
+            return;
+        }
+        record(false);
+    }
+
+    synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            open();
+            return;
+        }
+        record(true);
+        if (state == State.CLOSED && recorded >= minimumCalls && failures * 100 >= failureRateThreshold * recorded) {
+            open();
+        }
+    }
+
+    synchronized State getState() {
+        return state;
+    }
+
+    private void record(boolean failure) {
+        if (recorded == failed.length) {
+            if (failed[position]) {
+                failures--;
+            }
+        } else {
+            recorded++;
+        }
+        failed[position] = failure;
+        if (failure) {
+            failures++;
+        }
+        position = (position + 1) % failed.length;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = nanoClock.getAsLong();
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        position = 0;
+        recorded = 0;
+        failures = 0;
+    }
+}
@@ -0,0 +1,67 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.web.util.UriUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+// parsed once, so forwarding a request only appends literals and encoded values
+public final class PathTemplate {
+
+    private final String[] literals;
+    private final int length;
+
+    private PathTemplate(String[] literals) {
+        this.literals = literals;
+        int literalsLength = 0;
+        for (String literal : literals) {
+            literalsLength += literal.length();
+        }
+        this.length = literalsLength;
+    }
+
+    public static PathTemplate compile(String template) {
+        List<String> literals = new ArrayList<>();
+        int position = 0;
+        int open = template.indexOf('{');
+        while (open >= 0) {
+            int close = template.indexOf('}', open);
+            if (close < 0) {
+                throw new IllegalArgumentException("Unclosed variable in path template: " + template);
+            }
+            literals.add(template.substring(position, open));
+            position = close + 1;
+            open = template.indexOf('{', position);
+        }
+        literals.add(template.substring(position));
+        return new PathTemplate(literals.toArray(new String[0]));
+    }
+
+    public String expand(Object... values) {
+        if (values.length != literals.length - 1) {
+            throw new IllegalArgumentException("Expected " + (literals.length - 1) + " values, got " + values.length);
+        }
+        StringBuilder path = new StringBuilder(length + 16 * values.length);
+        for (int i = 0; i < values.length; i++) {
+            path.append(literals[i]);
+            appendEncoded(path, String.valueOf(values[i]));
+        }
+        return path.append(literals[values.length]).toString();
+    }
+
+    private static void appendEncoded(StringBuilder path, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (!isUnreserved(value.charAt(i))) {
+                path.append(UriUtils.encode(value, StandardCharsets.UTF_8));
+                return;
+            }
+        }
+        path.append(value);
+    }
+
+    private static boolean isUnreserved(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                || c == '-' || c == '.' || c == '_' || c == '~';
+    }
+}
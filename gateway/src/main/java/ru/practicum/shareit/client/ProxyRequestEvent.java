@@ -0,0 +1,36 @@
+package ru.practicum.shareit.client;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("ru.practicum.shareit.ProxyRequest")
+@Label("Proxy Request")
+@Category({"ShareIt", "Gateway"})
+@Description("Request forwarded by the gateway to the ShareIt server")
+@StackTrace(false)
+class ProxyRequestEvent extends Event {
+
+    @Label("Client")
+    String client;
+
+    @Label("Method")
+    String method;
+
+    @Label("Path")
+    String path;
+
+    @Label("User Id")
+    long userId;
+
+    @Label("Status")
+    @Description("HTTP status of the server response, 0 if no response was received")
+    int status;
+
+    @Label("Rows")
+    @Description("Size of the returned JSON array, 1 for a single object")
+    int rows;
+}
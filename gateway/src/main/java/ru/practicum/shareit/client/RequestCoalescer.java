@@ -0,0 +1,76 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+// concurrent identical requests share the response of the one that reached the server first
+@Component
+public class RequestCoalescer {
+
+    private static final String REQUESTS_COUNTER = "shareit.gateway.coalescing.requests";
+
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final Map<String, CompletableFuture<ResponseEntity<Object>>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, ClientCounters> counters = new ConcurrentHashMap<>();
+
+    public RequestCoalescer(MeterRegistry meterRegistry,
+                            @Value("${shareit.request-coalescing.enabled:true}") boolean enabled) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+    }
+
+    public ResponseEntity<Object> coalesce(String client, String key, Supplier<ResponseEntity<Object>> request) {
+        if (!enabled) {
+            return request.get();
+        }
+        ClientCounters clientCounters = counters.computeIfAbsent(client, ClientCounters::new);
+        CompletableFuture<ResponseEntity<Object>> call = new CompletableFuture<>();
+        CompletableFuture<ResponseEntity<Object>> running = inFlight.putIfAbsent(key, call);
+        if (running != null) {
+            clientCounters.joined.increment();
+            return await(running);
+        }
+        clientCounters.forwarded.increment();
+        try {
+            ResponseEntity<Object> response = request.get();
+            call.complete(response);
+            return response;
+        } catch (Throwable e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    private static ResponseEntity<Object> await(CompletableFuture<ResponseEntity<Object>> call) {
+        try {
+            return call.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private class ClientCounters {
+        private final Counter forwarded;
+        private final Counter joined;
+
+        private ClientCounters(String client) {
+            forwarded = meterRegistry.counter(REQUESTS_COUNTER, "client", client, "outcome", "forwarded");
+            joined = meterRegistry.counter(REQUESTS_COUNTER, "client", client, "outcome", "joined");
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.ResourceAccessException;
+import ru.practicum.shareit.client.ServerCallProperties.ClientSettings;
+import ru.practicum.shareit.exception.ServerUnavailableException;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// bulkhead, circuit breaker and timeouts of the calls one client makes to the server
+public class ServerCallGuard {
+
+    private static final String CALLS_COUNTER = "shareit.gateway.server.calls";
+    private static final String EXCEPTION_CIRCUIT_OPEN_INFO = "Server calls of %s are suspended after failures.";
+    private static final String EXCEPTION_BULKHEAD_FULL_INFO = "Too many concurrent requests to %s.";
+    private static final String EXCEPTION_SERVER_UNREACHABLE_INFO = "Server did not respond to %s request.";
+
+    private final String client;
+    private final ClientSettings settings;
+    private final Duration connectTimeout;
+    private final boolean http2;
+    private final WireFormat wireFormat;
+    private final Semaphore bulkhead;
+    private final CircuitBreaker circuitBreaker;
+    private final Counter succeeded;
+    private final Counter failed;
+    private final Counter rejectedOpen;
+    private final Counter rejectedFull;
+
+    ServerCallGuard(String client, ServerCallProperties properties, MeterRegistry meterRegistry) {
+        this.client = client;
+        this.settings = properties.forClient(client);
+        this.connectTimeout = properties.getConnectTimeout();
+        this.http2 = properties.isHttp2();
+        this.wireFormat = properties.getWireFormat();
+        this.bulkhead = new Semaphore(settings.getMaxConcurrentCalls());
+        this.circuitBreaker = new CircuitBreaker(settings, System::nanoTime);
+        this.succeeded = meterRegistry.counter(CALLS_COUNTER, "client", client, "outcome", "success");
+        this.failed = meterRegistry.counter(CALLS_COUNTER, "client", client, "outcome", "failure");
+        this.rejectedOpen = meterRegistry.counter(CALLS_COUNTER, "client", client, "outcome", "circuit_open");
+        this.rejectedFull = meterRegistry.counter(CALLS_COUNTER, "client", client, "outcome", "bulkhead_full");
+        meterRegistry.gauge("shareit.gateway.server.circuit.open", Tags.of("client", client),
+                circuitBreaker, breaker -> breaker.getState() == CircuitBreaker.State.CLOSED ? 0 : 1);
+    }
+
+    // HTTP/1.1: one connection per bulkhead slot, so a slot never waits for a connection of another client;
+    // content compression is left on: HttpClient asks for gzip and decodes compressed server responses.
+    // h2c: the client's calls share one multiplexed connection, the bulkhead still bounds them
+    public ClientHttpRequestFactory requestFactory() {
+        if (http2) {
+            return new Http2ClientHttpRequestFactory(connectTimeout, settings.getReadTimeout());
+        }
+        HttpComponentsClientHttpRequestFactory requestFactory = new HttpComponentsClientHttpRequestFactory(
+                HttpClientBuilder.create()
+                        .useSystemProperties()
+                        .setMaxConnTotal(settings.getMaxConcurrentCalls())
+                        .setMaxConnPerRoute(settings.getMaxConcurrentCalls())
+                        .build());
+        requestFactory.setConnectTimeout((int) connectTimeout.toMillis());
+        requestFactory.setConnectionRequestTimeout((int) connectTimeout.toMillis());
+        requestFactory.setReadTimeout((int) settings.getReadTimeout().toMillis());
+        return requestFactory;
+    }
+
+    public WireFormat getWireFormat() {
+        return wireFormat;
+    }
+
+    public ResponseEntity<Object> call(Supplier<ResponseEntity<Object>> serverCall) {
+        if (!circuitBreaker.tryAcquirePermission()) {
+            rejectedOpen.increment();
+            throw new ServerUnavailableException(String.format(EXCEPTION_CIRCUIT_OPEN_INFO, client));
+        }
+        if (!acquireSlot()) {
+            circuitBreaker.releasePermission();
+            rejectedFull.increment();
+            throw new ServerUnavailableException(String.format(EXCEPTION_BULKHEAD_FULL_INFO, client));
+        }
+        try {
+            ResponseEntity<Object> response = serverCall.get();
+            if (response.getStatusCode().is5xxServerError()) {
+                onFailure();
+            } else {
+                onSuccess();
+            }
+            return response;
+        } catch (ResourceAccessException e) {
+            onFailure();
+            throw new ServerUnavailableException(String.format(EXCEPTION_SERVER_UNREACHABLE_INFO, client), e);
+        } catch (RuntimeException e) {
+            onFailure();
+            throw e;
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    private boolean acquireSlot() {
+        try {
+            return bulkhead.tryAcquire(settings.getMaxWait().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void onSuccess() {
+        circuitBreaker.onSuccess();
+        succeeded.increment();
+    }
+
+    private void onFailure() {
+        circuitBreaker.onFailure();
+        failed.increment();
+    }
+}
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@RequiredArgsConstructor
+public class ServerCallGuards {
+
+    private final ServerCallProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, ServerCallGuard> guards = new ConcurrentHashMap<>();
+
+    public ServerCallGuard forClient(String client) {
+        return guards.computeIfAbsent(client, name -> new ServerCallGuard(name, properties, meterRegistry));
+    }
+}
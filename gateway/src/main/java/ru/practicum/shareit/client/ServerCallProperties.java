@@ -0,0 +1,54 @@
+package ru.practicum.shareit.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server")
+public class ServerCallProperties {
+
+    private Duration connectTimeout = Duration.ofSeconds(1);
+
+    // h2c needs a server with HTTP/2 enabled, otherwise the calls stay on HTTP/1.1
+    private boolean http2 = false;
+
+    // smile needs a server that already speaks it, so switch the server first
+    private WireFormat wireFormat = WireFormat.JSON;
+
+    // keyed by client name: bookings, items, requests, users
+    private Map<String, ClientSettings> clients = new HashMap<>();
+
+    public ClientSettings forClient(String name) {
+        return clients.getOrDefault(name, new ClientSettings());
+    }
+
+    @Getter
+    @Setter
+    public static class ClientSettings {
+
+        // bulkhead: calls to the server in flight at once, also the size of the client's connection pool
+        private int maxConcurrentCalls = 10;
+
+        // how long a request waits for a free slot before it is rejected
+        private Duration maxWait = Duration.ofMillis(100);
+
+        private Duration readTimeout = Duration.ofSeconds(3);
+
+        // circuit breaker: opens when this percentage of the last slidingWindowSize calls failed
+        private int failureRateThreshold = 50;
+
+        private int slidingWindowSize = 20;
+
+        private int minimumCalls = 10;
+
+        private Duration waitInOpenState = Duration.ofSeconds(10);
+
+        private int permittedCallsInHalfOpenState = 3;
+    }
+}
@@ -0,0 +1,23 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.MediaType;
+
+import java.util.List;
+
+// encoding of the bodies the gateway exchanges with the server
+public enum WireFormat {
+
+    JSON(MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_JSON_VALUE),
+
+    // Jackson Smile: the JSON data model in a binary encoding; JSON stays acceptable,
+    // so error responses the server can only render as JSON still get through
+    SMILE("application/x-jackson-smile", "application/x-jackson-smile, application/json;q=0.9");
+
+    final List<String> contentType;
+    final List<String> accept;
+
+    WireFormat(String contentType, String accept) {
+        this.contentType = List.of(contentType);
+        this.accept = List.of(accept);
+    }
+}
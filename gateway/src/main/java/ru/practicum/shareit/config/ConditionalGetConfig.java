@@ -0,0 +1,28 @@
+package ru.practicum.shareit.config;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.regex.Pattern;
+
+@Configuration
+public class ConditionalGetConfig {
+
+    // GET /items/{id}, /users/{id} and /requests/{id}
+    private static final Pattern SINGLE_ENTITY_PATH = Pattern.compile("/(items|users|requests)/\\d+");
+
+    // strong ETag over the forwarded body, If-None-Match answered with 304 without sending the body again
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> etagFilter() {
+        ShallowEtagHeaderFilter filter = new ShallowEtagHeaderFilter() {
+            @Override
+            protected boolean shouldNotFilter(HttpServletRequest request) {
+                return !SINGLE_ENTITY_PATH.matcher(request.getRequestURI()).matches();
+            }
+        };
+        return new FilterRegistrationBean<>(filter);
+    }
+}
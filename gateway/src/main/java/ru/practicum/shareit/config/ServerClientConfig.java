@@ -0,0 +1,30 @@
+package ru.practicum.shareit.config;
+
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.client.RestTemplateCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import ru.practicum.shareit.client.ServerCallGuards;
+import ru.practicum.shareit.client.ServerCallProperties;
+
+@Configuration
+@EnableConfigurationProperties(ServerCallProperties.class)
+public class ServerClientConfig {
+
+    @Bean
+    public ServerCallGuards serverCallGuards(ServerCallProperties properties, MeterRegistry meterRegistry) {
+        return new ServerCallGuards(properties, meterRegistry);
+    }
+
+    // only the clients read and write Smile, the gateway's own endpoints stay JSON
+    @Bean
+    public RestTemplateCustomizer smileRestTemplateCustomizer(Jackson2ObjectMapperBuilder objectMapperBuilder) {
+        MappingJackson2SmileHttpMessageConverter smileConverter = new MappingJackson2SmileHttpMessageConverter(
+                objectMapperBuilder.factory(new SmileFactory()).build());
+        return restTemplate -> restTemplate.getMessageConverters().add(smileConverter);
+    }
+}
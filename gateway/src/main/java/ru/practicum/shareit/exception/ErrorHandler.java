@@ -1,10 +1,13 @@
 package ru.practicum.shareit.exception;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import ru.practicum.shareit.ratelimit.TooManyRequestsException;
 
 import javax.validation.ConstraintViolationException;
 
@@ -25,4 +28,23 @@ public class ErrorHandler {
     public ErrorResponse handle(final UnsupportedStatusException e) {
         return new ErrorResponse("Unknown state: " + e.getMessage(), e.getMessage());
     }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponse handle(final IncorrectPeriodException e) {
+        return new ErrorResponse("Validation error: ", e.getMessage());
+    }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ErrorResponse handle(final ServerUnavailableException e) {
+        return new ErrorResponse("Service unavailable: ", e.getMessage());
+    }
+
+    @ExceptionHandler
+    public ResponseEntity<ErrorResponse> handle(final TooManyRequestsException e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(new ErrorResponse("Too many requests: ", e.getMessage()));
+    }
 }
@@ -0,0 +1,11 @@
+package ru.practicum.shareit.exception;
+
+public class ServerUnavailableException extends RuntimeException {
+    public ServerUnavailableException(String s) {
+        super(s);
+    }
+
+    public ServerUnavailableException(String s, Throwable cause) {
+        super(s, cause);
+    }
+}
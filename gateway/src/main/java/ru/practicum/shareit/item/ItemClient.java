@@ -4,26 +4,40 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.util.StringUtils;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.RequestCoalescer;
+import ru.practicum.shareit.client.ServerCallGuards;
+import ru.practicum.shareit.client.PathTemplate;
 import ru.practicum.shareit.item.dto.CommentInputDto;
 import ru.practicum.shareit.item.dto.ItemInputDto;
 
-import java.util.Map;
+import java.time.LocalDateTime;
+import java.util.List;
 
 @Service
 public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
+    private static final String CLIENT_NAME = "items";
+    private static final PathTemplate OWNER_ITEMS = PathTemplate.compile("?from={from}&size={size}");
+    private static final PathTemplate SEARCH = PathTemplate.compile("/search?text={text}&from={from}&size={size}");
+    private static final PathTemplate SEARCH_IN_PERIOD =
+            PathTemplate.compile("/search?text={text}&start={start}&end={end}&from={from}&size={size}");
+    private static final PathTemplate AVAILABILITY = PathTemplate.compile("/{itemId}/availability?from={from}&to={to}");
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl,
+                      RestTemplateBuilder builder,
+                      RequestCoalescer requestCoalescer,
+                      ServerCallGuards serverCallGuards) {
         super(
                 builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .requestFactory(serverCallGuards.forClient(CLIENT_NAME)::requestFactory)
+                        .build(),
+                serverUrl + API_PREFIX,
+                requestCoalescer,
+                serverCallGuards.forClient(CLIENT_NAME)
         );
     }
 
@@ -35,6 +49,11 @@ public class ItemClient extends BaseClient {
         return post("/" + itemId + "/comment", userId, commentDto);
     }
 
+    // ids need no encoding, the server splits the list at commas
+    public ResponseEntity<Object> findAllByIds(Long userId, List<Long> ids) {
+        return get("?ids=" + StringUtils.collectionToCommaDelimitedString(ids), userId);
+    }
+
     public ResponseEntity<Object> update(ItemInputDto itemDto, Long userId, Long itemId) {
         return patch("/" + itemId, userId, itemDto);
     }
@@ -44,20 +63,20 @@ public class ItemClient extends BaseClient {
     }
 
     public ResponseEntity<Object> findAll(Long userId, int from, int size) {
-        Map<String, Object> parameters = Map.of(
-                "from", from,
-                "size", size
-        );
-        return get("?from={from}&size={size}", userId, parameters);
+        return get(OWNER_ITEMS.expand(from, size), userId);
     }
 
     public ResponseEntity<Object> search(String text, Long userId, int from, int size) {
-        Map<String, Object> parameters = Map.of(
-                "text", text,
-                "from", from,
-                "size", size
-        );
-        return get("/search?text={text}&from={from}&size={size}", userId, parameters);
+        return get(SEARCH.expand(text, from, size), userId);
+    }
+
+    public ResponseEntity<Object> search(String text, Long userId, LocalDateTime start, LocalDateTime end,
+                                         int from, int size) {
+        return get(SEARCH_IN_PERIOD.expand(text, start, end, from, size), userId);
+    }
+
+    public ResponseEntity<Object> getAvailability(Long userId, Long itemId, LocalDateTime from, LocalDateTime to) {
+        return get(AVAILABILITY.expand(itemId, from, to), userId);
     }
 
 }
@@ -1,6 +1,7 @@
 package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -11,11 +12,15 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import ru.practicum.shareit.exception.IncorrectPeriodException;
 import ru.practicum.shareit.item.dto.CommentInputDto;
 import ru.practicum.shareit.item.dto.ItemInputDto;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Min;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
 
 @RestController
 @RequestMapping("/items")
@@ -23,6 +28,7 @@ import javax.validation.constraints.Min;
 public class ItemController {
 
     private static final String X_SHARER_USER_ID = "X-Sharer-User-Id";
+    private static final String EXCEPTION_INCORRECT_PERIOD_INFO = "Period start should be before its end.";
 
     private final ItemClient itemClient;
 
@@ -45,6 +51,12 @@ public class ItemController {
         return itemClient.findAll(userId, from, size);
     }
 
+    @GetMapping(params = "ids")
+    public ResponseEntity<Object> findAllByIds(@RequestHeader(X_SHARER_USER_ID) long userId,
+                                               @RequestParam List<Long> ids) {
+        return itemClient.findAllByIds(userId, ids);
+    }
+
     @PatchMapping(value = "/{itemId}")
     public ResponseEntity<Object> update(@RequestHeader(X_SHARER_USER_ID) long userId,
                                          @PathVariable Long itemId,
@@ -55,9 +67,19 @@ public class ItemController {
     @GetMapping(value = "/search")
     public ResponseEntity<Object> search(@RequestHeader(X_SHARER_USER_ID) long userId,
                                          @RequestParam(value = "text", defaultValue = "", required = false) String searchBy,
+                                         @RequestParam(required = false)
+                                         @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+                                         @RequestParam(required = false)
+                                         @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
                                          @Min(0) @RequestParam(required = false, defaultValue = "0") int from,
                                          @Min(1) @RequestParam(required = false, defaultValue = "10") int size) {
-        return itemClient.search(searchBy, userId, from, size);
+        if (Objects.isNull(start) && Objects.isNull(end)) {
+            return itemClient.search(searchBy, userId, from, size);
+        }
+        if (Objects.isNull(start) || Objects.isNull(end) || !start.isBefore(end)) {
+            throw new IncorrectPeriodException(EXCEPTION_INCORRECT_PERIOD_INFO);
+        }
+        return itemClient.search(searchBy, userId, start, end, from, size);
     }
 
     @PostMapping(value = "/{itemId}/comment")
@@ -67,4 +89,17 @@ public class ItemController {
         return itemClient.addComment(comment, itemId, userId);
     }
 
+    @GetMapping(value = "/{itemId}/availability")
+    public ResponseEntity<Object> getAvailability(@RequestHeader(X_SHARER_USER_ID) long userId,
+                                                  @PathVariable Long itemId,
+                                                  @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                  LocalDateTime from,
+                                                  @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                  LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new IncorrectPeriodException(EXCEPTION_INCORRECT_PERIOD_INFO);
+        }
+        return itemClient.getAvailability(userId, itemId, from, to);
+    }
+
 }
@@ -0,0 +1,80 @@
+package ru.practicum.shareit.monitoring;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+public class AccessLogFilter extends OncePerRequestFilter {
+
+    // written by an asynchronous appender, see logback-spring.xml
+    private static final Logger ACCESS_LOG = LoggerFactory.getLogger("shareit.access");
+    private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+    private static final String UNMATCHED_ROUTE = "unmatched";
+
+    private final double sampleRate;
+    private final Map<String, Double> routeSampleRates;
+    private final long slowRequestNanos;
+
+    public AccessLogFilter(AccessLogProperties properties) {
+        this.sampleRate = properties.getSampleRate();
+        this.routeSampleRates = Map.copyOf(properties.getRouteSampleRates());
+        this.slowRequestNanos = properties.getSlowRequest().toNanos();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long startedAt = System.nanoTime();
+        CountingResponseWrapper countingResponse = new CountingResponseWrapper(response);
+        int status = HttpStatus.INTERNAL_SERVER_ERROR.value();
+        try {
+            filterChain.doFilter(request, countingResponse);
+            status = countingResponse.getStatus();
+        } finally {
+            long elapsedNanos = System.nanoTime() - startedAt;
+            String route = routeOf(request);
+            String reason = logReason(route, status, elapsedNanos);
+            if (Objects.nonNull(reason) && ACCESS_LOG.isInfoEnabled()) {
+                ACCESS_LOG.info("method={} route={} uri={} status={} latencyMs={} requestBytes={} responseBytes={}"
+                                + " userId={} reason={}",
+                        request.getMethod(),
+                        route,
+                        request.getRequestURI(),
+                        status,
+                        TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                        Math.max(request.getContentLengthLong(), 0),
+                        countingResponse.getBytesWritten(),
+                        Objects.requireNonNullElse(request.getHeader(USER_ID_HEADER), "-"),
+                        reason);
+            }
+        }
+    }
+
+    private String logReason(String route, int status, long elapsedNanos) {
+        if (status >= HttpStatus.BAD_REQUEST.value()) {
+            return "error";
+        }
+        if (elapsedNanos >= slowRequestNanos) {
+            return "slow";
+        }
+        double rate = routeSampleRates.getOrDefault(route, sampleRate);
+        return rate > 0 && ThreadLocalRandom.current().nextDouble() < rate ? "sampled" : null;
+    }
+
+    private static String routeOf(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return Objects.isNull(pattern) ? UNMATCHED_ROUTE : pattern.toString();
+    }
+}
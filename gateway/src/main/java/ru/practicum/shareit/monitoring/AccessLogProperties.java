@@ -0,0 +1,28 @@
+package ru.practicum.shareit.monitoring;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit.access-log")
+public class AccessLogProperties {
+
+    private boolean enabled = true;
+
+    // share of successful requests written to the log, errors and slow requests are always written
+    private double sampleRate = 0.01;
+
+    // rates for route patterns such as /items/search, overriding sampleRate
+    private Map<String, Double> routeSampleRates = new HashMap<>();
+
+    private Duration slowRequest = Duration.ofMillis(500);
+
+    // capacity of the asynchronous appender queue, read by logback-spring.xml
+    private int queueSize = 2048;
+}
@@ -0,0 +1,70 @@
+package ru.practicum.shareit.ratelimit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    private static final String X_SHARER_USER_ID = "X-Sharer-User-Id";
+    private static final String SIZE_PARAMETER = "size";
+    private static final String ANONYMOUS_KEY_PREFIX = "address:";
+    private static final String REJECTED_COUNTER = "shareit.gateway.rate-limit.rejected";
+    private static final String EXCEPTION_TOO_MANY_REQUESTS_INFO = "Request rate limit exceeded, retry in %d s.";
+
+    private final RateLimiter rateLimiter;
+    private final Map<String, Integer> routeCosts;
+    private final int pageSize;
+    private final MeterRegistry meterRegistry;
+
+    public RateLimitInterceptor(RateLimiter rateLimiter, RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.rateLimiter = rateLimiter;
+        this.routeCosts = Map.copyOf(properties.getRouteCosts());
+        this.pageSize = properties.getPageSize();
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String route = String.valueOf(request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE));
+        long waitNanos = rateLimiter.tryAcquire(keyOf(request), costOf(route, request));
+        if (waitNanos == 0) {
+            return true;
+        }
+        meterRegistry.counter(REJECTED_COUNTER, "route", route).increment();
+        long retryAfterSeconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        throw new TooManyRequestsException(String.format(EXCEPTION_TOO_MANY_REQUESTS_INFO, retryAfterSeconds),
+                retryAfterSeconds);
+    }
+
+    private static String keyOf(HttpServletRequest request) {
+        String userId = request.getHeader(X_SHARER_USER_ID);
+        return Objects.isNull(userId) ? ANONYMOUS_KEY_PREFIX + request.getRemoteAddr() : userId;
+    }
+
+    // listings cost more the more rows they ask for. Only reads are listings: POST /items shares its pattern
+    // with GET /items but creates a single item
+    private int costOf(String route, HttpServletRequest request) {
+        if (!HttpMethod.GET.matches(request.getMethod())) {
+            return 1;
+        }
+        int cost = routeCosts.getOrDefault(route, 1);
+        String size = request.getParameter(SIZE_PARAMETER);
+        if (Objects.isNull(size)) {
+            return cost;
+        }
+        try {
+            int pages = (Math.max(Integer.parseInt(size), 1) + pageSize - 1) / pageSize;
+            return cost * Math.max(pages, 1);
+        } catch (NumberFormatException e) {
+            return cost;
+        }
+    }
+}
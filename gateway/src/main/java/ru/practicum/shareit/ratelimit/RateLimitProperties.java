@@ -0,0 +1,28 @@
+package ru.practicum.shareit.ratelimit;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    // tokens each user gets back per second
+    private double tokensPerSecond = 20;
+
+    // tokens a user can spend at once after being idle
+    private int burst = 40;
+
+    // tokens taken by a GET of a route pattern such as /items/search, 1 for routes not listed and other methods
+    private Map<String, Integer> routeCosts = new HashMap<>();
+
+    // page size covered by the route cost, larger pages cost proportionally more
+    private int pageSize = 20;
+}
@@ -0,0 +1,58 @@
+package ru.practicum.shareit.ratelimit;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+// token buckets kept as the time at which a bucket is full again (GCRA), updated with a CAS loop, no locks
+public class RateLimiter {
+
+    private static final int SWEEP_INTERVAL = 1 << 12;
+
+    private final long nanosPerToken;
+    private final long burstNanos;
+    private final int burst;
+    private final LongSupplier nanoClock;
+    private final Map<String, AtomicLong> fullAt = new ConcurrentHashMap<>();
+    private final AtomicInteger acquisitions = new AtomicInteger();
+
+    public RateLimiter(double tokensPerSecond, int burst, LongSupplier nanoClock) {
+        this.nanosPerToken = (long) (TimeUnit.SECONDS.toNanos(1) / tokensPerSecond);
+        this.burstNanos = nanosPerToken * burst;
+        this.burst = burst;
+        this.nanoClock = nanoClock;
+    }
+
+    // returns 0 when the tokens are taken, otherwise the nanoseconds until they will be available
+    public long tryAcquire(String key, int tokens) {
+        long now = nanoClock.getAsLong();
+        if ((acquisitions.incrementAndGet() & (SWEEP_INTERVAL - 1)) == 0) {
+            sweep(now);
+        }
+        AtomicLong bucket = fullAt.computeIfAbsent(key, k -> new AtomicLong(Long.MIN_VALUE));
+        long cost = nanosPerToken * Math.min(tokens, burst);
+        while (true) {
+            long current = bucket.get();
+            long updated = Math.max(current, now) + cost;
+            long excess = updated - now - burstNanos;
+            if (excess > 0) {
+                return excess;
+            }
+            if (bucket.compareAndSet(current, updated)) {
+                return 0;
+            }
+        }
+    }
+
+    int trackedKeys() {
+        return fullAt.size();
+    }
+
+    // full buckets carry no state, a request racing with the removal may get a fresh bucket
+    private void sweep(long now) {
+        fullAt.values().removeIf(bucket -> bucket.get() <= now);
+    }
+}
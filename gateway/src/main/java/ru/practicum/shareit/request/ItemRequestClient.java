@@ -4,25 +4,31 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.RequestCoalescer;
+import ru.practicum.shareit.client.ServerCallGuards;
+import ru.practicum.shareit.client.PathTemplate;
 import ru.practicum.shareit.request.dto.ItemRequestInputDto;
 
-import java.util.Map;
-
 @Service
 public class ItemRequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
+    private static final String CLIENT_NAME = "requests";
+    private static final PathTemplate OTHER_USERS_REQUESTS = PathTemplate.compile("/all?from={from}&size={size}");
 
     @Autowired
-    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl,
+                             RestTemplateBuilder builder,
+                             RequestCoalescer requestCoalescer,
+                             ServerCallGuards serverCallGuards) {
         super(
                 builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .requestFactory(serverCallGuards.forClient(CLIENT_NAME)::requestFactory)
+                        .build(),
+                serverUrl + API_PREFIX,
+                requestCoalescer,
+                serverCallGuards.forClient(CLIENT_NAME)
         );
     }
 
@@ -35,11 +41,7 @@ public class ItemRequestClient extends BaseClient {
     }
 
     public ResponseEntity<Object> findAll(Long userId, int from, int size) {
-        Map<String, Object> parameters = Map.of(
-                "from", from,
-                "size", size
-        );
-        return get("/all?from={from}&size={size}", userId, parameters);
+        return get(OTHER_USERS_REQUESTS.expand(from, size), userId);
     }
 
     public ResponseEntity<Object> getById(Long userId, Long requestId) {
@@ -4,23 +4,35 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.server.ServerHttpResponse;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.util.StringUtils;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.PathTemplate;
+import ru.practicum.shareit.client.RequestCoalescer;
+import ru.practicum.shareit.client.ServerCallGuards;
 import ru.practicum.shareit.user.dto.UserDto;
 
+import java.util.List;
+
 @Service
 public class UserClient extends BaseClient {
     private static final String API_PREFIX = "/users";
+    private static final String CLIENT_NAME = "users";
+    private static final PathTemplate PAGE = PathTemplate.compile("?afterId={afterId}&size={size}");
 
     @Autowired
-    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public UserClient(@Value("${shareit-server.url}") String serverUrl,
+                      RestTemplateBuilder builder,
+                      RequestCoalescer requestCoalescer,
+                      ServerCallGuards serverCallGuards) {
         super(
                 builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .requestFactory(serverCallGuards.forClient(CLIENT_NAME)::requestFactory)
+                        .build(),
+                serverUrl + API_PREFIX,
+                requestCoalescer,
+                serverCallGuards.forClient(CLIENT_NAME)
         );
     }
 
@@ -32,8 +44,21 @@ public class UserClient extends BaseClient {
         return get("/" + userId);
     }
 
-    public ResponseEntity<Object> findAll() {
-        return get("");
+    public void findAll(ServerHttpResponse target) {
+        stream("", target);
+    }
+
+    public ResponseEntity<Object> findPage(long afterId, int size) {
+        return get(PAGE.expand(afterId, size));
+    }
+
+    // ids need no encoding, the server splits the list at commas
+    public ResponseEntity<Object> findAllByIds(List<Long> ids) {
+        return get("?ids=" + StringUtils.collectionToCommaDelimitedString(ids));
+    }
+
+    public ResponseEntity<Object> provision(List<UserDto> userDtos) {
+        return post("/bulk", userDtos);
     }
 
     public ResponseEntity<Object> update(UserDto userDto, Long userId) {
@@ -2,6 +2,7 @@ package ru.practicum.shareit.user;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.ServletServerHttpResponse;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -10,12 +11,18 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import ru.practicum.shareit.user.dto.UserDto;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
+import javax.validation.constraints.Max;
 import javax.validation.constraints.Min;
+import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.util.List;
 
 @RestController
 @RequestMapping(path = "/users")
@@ -24,6 +31,8 @@ import javax.validation.constraints.NotNull;
 public class UserController {
 
     private static final int MIN_ID_VALUE = 1;
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final int MAX_PROVISION_USERS = 5000;
 
     private final UserClient userClient;
 
@@ -37,9 +46,28 @@ public class UserController {
         return userClient.getById(userId);
     }
 
+    @GetMapping(params = "size")
+    public ResponseEntity<Object> findPage(@Min(0) @RequestParam(required = false, defaultValue = "0") long afterId,
+                                           @Min(1) @Max(MAX_PAGE_SIZE) @RequestParam int size) {
+        return userClient.findPage(afterId, size);
+    }
+
+    // streamed from the server, the gateway never holds the whole list
     @GetMapping
-    public ResponseEntity<Object> findAll() {
-        return userClient.findAll();
+    public void findAll(HttpServletResponse response) {
+        userClient.findAll(new ServletServerHttpResponse(response));
+    }
+
+    @GetMapping(params = "ids")
+    public ResponseEntity<Object> findAllByIds(@RequestParam List<Long> ids) {
+        return userClient.findAllByIds(ids);
+    }
+
+    // every row is validated like a single user, the server upserts them by email
+    @PostMapping(value = "/bulk")
+    public ResponseEntity<Object> provision(@NotEmpty @Size(max = MAX_PROVISION_USERS)
+                                            @RequestBody List<@Valid UserDto> userDtos) {
+        return userClient.provision(userDtos);
     }
 
     @PatchMapping(value = "/{userId}")
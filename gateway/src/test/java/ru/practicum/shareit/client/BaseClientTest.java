@@ -0,0 +1,224 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.client.RestTemplate;
+import ru.practicum.shareit.exception.ServerUnavailableException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BaseClientTest {
+
+    private static final String SERVER_URL = "http://localhost:9090/items";
+    private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+    private static final String REQUESTS_COUNTER = "shareit.gateway.coalescing.requests";
+    private static final String CALLS_COUNTER = "shareit.gateway.server.calls";
+    private static final int CALLERS = 4;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+
+    private ServerStub server;
+    private TestClient client;
+
+    @BeforeEach
+    void beforeEach() {
+        RestTemplate rest = new RestTemplate((uri, method) -> new MockClientHttpRequest(method, uri) {
+            @Override
+            protected ClientHttpResponse executeInternal() throws IOException {
+                upstreamCalls.incrementAndGet();
+                return server.answer(this);
+            }
+        });
+        client = new TestClient(rest, new RequestCoalescer(meterRegistry, true),
+                new ServerCallGuard("items", new ServerCallProperties(), meterRegistry));
+    }
+
+    @AfterEach
+    void afterEach() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void get_whenSameUserRequestsConcurrently_thenMakeOneServerCall() throws Exception {
+        server = request -> {
+            awaitJoined(CALLERS - 1);
+            return item(request);
+        };
+
+        List<ResponseEntity<Object>> responses = getConcurrently(1L, 1L, 1L, 1L);
+
+        assertEquals(1, upstreamCalls.get());
+        for (ResponseEntity<Object> response : responses) {
+            assertEquals(HttpStatus.OK, response.getStatusCode());
+            assertEquals(Map.of("id", 1, "requestedBy", "1"), response.getBody());
+        }
+    }
+
+    @Test
+    void get_whenUsersDiffer_thenNeverShareResponse() throws Exception {
+        CountDownLatch bothArrived = new CountDownLatch(2);
+        server = request -> {
+            bothArrived.countDown();
+            await(bothArrived);
+            return item(request);
+        };
+
+        List<ResponseEntity<Object>> responses = getConcurrently(1L, 2L);
+
+        assertEquals(2, upstreamCalls.get());
+        assertEquals(Map.of("id", 1, "requestedBy", "1"), responses.get(0).getBody());
+        assertEquals(Map.of("id", 1, "requestedBy", "2"), responses.get(1).getBody());
+        assertEquals(0, meterRegistry.counter(REQUESTS_COUNTER,
+                "client", "TestClient", "outcome", "joined").count());
+    }
+
+    @Test
+    void get_whenSharedServerCallFails_thenFailEveryCallerAndCallAgainLater() throws Exception {
+        server = request -> {
+            awaitJoined(CALLERS - 1);
+            throw new IOException("Connection reset");
+        };
+
+        List<Future<ResponseEntity<Object>>> calls = submitConcurrently(1L, 1L, 1L, 1L);
+
+        for (Future<ResponseEntity<Object>> call : calls) {
+            ExecutionException exception = assertThrows(ExecutionException.class,
+                    () -> call.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(ServerUnavailableException.class, exception.getCause());
+        }
+        assertEquals(1, upstreamCalls.get());
+
+        server = BaseClientTest::item;
+
+        assertEquals(HttpStatus.OK, client.findItem(1L).getStatusCode());
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    @Test
+    void stream_whenCallerAborts_thenRethrowWithoutCountingServerFailure() {
+        server = BaseClientTest::item;
+        ServletServerHttpResponse abortedCaller = new ServletServerHttpResponse(new MockHttpServletResponse()) {
+            @Override
+            public OutputStream getBody() throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        UncheckedIOException exception = assertThrows(UncheckedIOException.class,
+                () -> client.findAll(abortedCaller));
+
+        assertEquals("Broken pipe", exception.getCause().getMessage());
+        assertEquals(1, calls("success"));
+        assertEquals(0, calls("failure"));
+    }
+
+    @Test
+    void stream_whenServerAnswers_thenCopyBodyToCaller() throws Exception {
+        server = BaseClientTest::item;
+        MockHttpServletResponse caller = new MockHttpServletResponse();
+
+        client.findAll(new ServletServerHttpResponse(caller));
+
+        assertEquals(HttpStatus.OK.value(), caller.getStatus());
+        assertEquals("{\"id\":1,\"requestedBy\":\"null\"}", caller.getContentAsString());
+        assertEquals(1, calls("success"));
+    }
+
+    private double calls(String outcome) {
+        return meterRegistry.counter(CALLS_COUNTER, "client", "items", "outcome", outcome).count();
+    }
+
+    private List<ResponseEntity<Object>> getConcurrently(Long... userIds) throws Exception {
+        List<ResponseEntity<Object>> responses = new ArrayList<>();
+        for (Future<ResponseEntity<Object>> call : submitConcurrently(userIds)) {
+            responses.add(call.get(5, TimeUnit.SECONDS));
+        }
+        return responses;
+    }
+
+    private List<Future<ResponseEntity<Object>>> submitConcurrently(Long... userIds) {
+        List<Future<ResponseEntity<Object>>> calls = new ArrayList<>();
+        for (Long userId : userIds) {
+            calls.add(executor.submit(() -> client.findItem(userId)));
+        }
+        return calls;
+    }
+
+    private void awaitJoined(int callers) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.counter(REQUESTS_COUNTER, "client", "TestClient", "outcome", "joined").count()
+                < callers) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("Timed out waiting for " + callers + " requests to join");
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static ClientHttpResponse item(MockClientHttpRequest request) {
+        String body = "{\"id\":1,\"requestedBy\":\"" + request.getHeaders().getFirst(USER_ID_HEADER) + "\"}";
+        MockClientHttpResponse response = new MockClientHttpResponse(body.getBytes(StandardCharsets.UTF_8),
+                HttpStatus.OK);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        return response;
+    }
+
+    private interface ServerStub {
+        ClientHttpResponse answer(MockClientHttpRequest request) throws IOException;
+    }
+
+    private static class TestClient extends BaseClient {
+
+        TestClient(RestTemplate rest, RequestCoalescer requestCoalescer, ServerCallGuard serverCallGuard) {
+            super(rest, SERVER_URL, requestCoalescer, serverCallGuard);
+        }
+
+        ResponseEntity<Object> findItem(Long userId) {
+            return get("/1", userId);
+        }
+
+        void findAll(ServerHttpResponse target) {
+            stream("", target);
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.client.ServerCallProperties.ClientSettings;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CircuitBreakerTest {
+
+    private static final Duration WAIT_IN_OPEN_STATE = Duration.ofSeconds(10);
+
+    private final AtomicLong nanoClock = new AtomicLong();
+
+    private ClientSettings settings;
+
+    @BeforeEach
+    void beforeEach() {
+        settings = new ClientSettings();
+        settings.setFailureRateThreshold(50);
+        settings.setSlidingWindowSize(4);
+        settings.setMinimumCalls(4);
+        settings.setWaitInOpenState(WAIT_IN_OPEN_STATE);
+        settings.setPermittedCallsInHalfOpenState(2);
+    }
+
+    @Test
+    void onFailure_whenFewerCallsThanMinimum_thenStayClosed() {
+        CircuitBreaker circuitBreaker = circuitBreaker();
+
+        fail(circuitBreaker, 3);
+
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertTrue(circuitBreaker.tryAcquirePermission());
+    }
+
+    @Test
+    void onFailure_whenFailureRateReachesThreshold_thenOpen() {
+        CircuitBreaker circuitBreaker = circuitBreaker();
+
+        succeed(circuitBreaker, 2);
+        fail(circuitBreaker, 2);
+
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.tryAcquirePermission());
+    }
+
+    @Test
+    void onFailure_whenFailureRateBelowThreshold_thenStayClosed() {
+        CircuitBreaker circuitBreaker = circuitBreaker();
+
+        succeed(circuitBreaker, 3);
+        fail(circuitBreaker, 1);
+
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    void onFailure_whenOldFailuresLeftWindow_thenCountOnlyRecentCalls() {
+        CircuitBreaker circuitBreaker = circuitBreaker();
+
+        fail(circuitBreaker, 3);
+        succeed(circuitBreaker, 4);
+        fail(circuitBreaker, 1);
+
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    void tryAcquirePermission_whenOpenAndWaitNotOver_thenReject() {
+        CircuitBreaker circuitBreaker = openCircuitBreaker();
+
+        nanoClock.addAndGet(WAIT_IN_OPEN_STATE.toNanos() - 1);
+
+        assertFalse(circuitBreaker.tryAcquirePermission());
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+    }
+
+    @Test
+    void tryAcquirePermission_whenWaitOver_thenHalfOpenWithPermittedCallsOnly() {
+        CircuitBreaker circuitBreaker = openCircuitBreaker();
+
+        nanoClock.addAndGet(WAIT_IN_OPEN_STATE.toNanos());
+
+        assertTrue(circuitBreaker.tryAcquirePermission());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+        assertTrue(circuitBreaker.tryAcquirePermission());
+        assertFalse(circuitBreaker.tryAcquirePermission());
+    }
+
+    @Test
+    void tryAcquirePermission_whenSingleProbePermitted_thenRejectOthersUntilProbeEnds() {
+        settings.setPermittedCallsInHalfOpenState(1);
+        CircuitBreaker circuitBreaker = openCircuitBreaker();
+        nanoClock.addAndGet(WAIT_IN_OPEN_STATE.toNanos());
+
+        assertTrue(circuitBreaker.tryAcquirePermission());
+        assertFalse(circuitBreaker.tryAcquirePermission());
+        assertFalse(circuitBreaker.tryAcquirePermission());
+
+        circuitBreaker.onSuccess();
+
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertTrue(circuitBreaker.tryAcquirePermission());
+    }
+
+    @Test
+    void releasePermission_whenHalfOpenProbeNotMade_thenPermitAnotherProbe() {
+        settings.setPermittedCallsInHalfOpenState(1);
+        CircuitBreaker circuitBreaker = openCircuitBreaker();
+        nanoClock.addAndGet(WAIT_IN_OPEN_STATE.toNanos());
+        circuitBreaker.tryAcquirePermission();
+
+        circuitBreaker.releasePermission();
+
+        assertTrue(circuitBreaker.tryAcquirePermission());
+        assertFalse(circuitBreaker.tryAcquirePermission());
+    }
+
+    @Test
+    void onSuccess_whenAllHalfOpenProbesSucceed_thenCloseWithEmptyWindow() {
+        CircuitBreaker circuitBreaker = openCircuitBreaker();
+        nanoClock.addAndGet(WAIT_IN_OPEN_STATE.toNanos());
+        circuitBreaker.tryAcquirePermission();
+        circuitBreaker.tryAcquirePermission();
+
+        circuitBreaker.onSuccess();
+
+        assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+
+        circuitBreaker.onSuccess();
+
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+
+        fail(circuitBreaker, 3);
+
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    void onFailure_whenHalfOpenProbeFails_thenOpenForAnotherWait() {
+        CircuitBreaker circuitBreaker = openCircuitBreaker();
+        nanoClock.addAndGet(WAIT_IN_OPEN_STATE.toNanos());
+        circuitBreaker.tryAcquirePermission();
+        circuitBreaker.tryAcquirePermission();
+
+        circuitBreaker.onSuccess();
+        circuitBreaker.onFailure();
+
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+
+        nanoClock.addAndGet(WAIT_IN_OPEN_STATE.toNanos() - 1);
+
+        assertFalse(circuitBreaker.tryAcquirePermission());
+
+        nanoClock.addAndGet(1);
+
+        assertTrue(circuitBreaker.tryAcquirePermission());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+    }
+
+    private CircuitBreaker circuitBreaker() {
+        return new CircuitBreaker(settings, nanoClock::get);
+    }
+
+    private CircuitBreaker openCircuitBreaker() {
+        CircuitBreaker circuitBreaker = circuitBreaker();
+        fail(circuitBreaker, 4);
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        return circuitBreaker;
+    }
+
+    private static void succeed(CircuitBreaker circuitBreaker, int calls) {
+        for (int i = 0; i < calls; i++) {
+            circuitBreaker.onSuccess();
+        }
+    }
+
+    private static void fail(CircuitBreaker circuitBreaker, int calls) {
+        for (int i = 0; i < calls; i++) {
+            circuitBreaker.onFailure();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PathTemplateTest {
+
+    private static final PathTemplate SEARCH = PathTemplate.compile("/search?text={text}&from={from}&size={size}");
+    private static final PathTemplate OWNER = PathTemplate.compile("/owner/{name}/items");
+    private static final String RESERVED_TEXT = "drill & saw + 50% off/rent";
+    private static final String CYRILLIC_TEXT = "дрель ударная";
+
+    @Test
+    void expand_whenValuesUnreserved_thenAppendAsIs() {
+        assertEquals("/search?text=drill-2.0_x~&from=0&size=20", SEARCH.expand("drill-2.0_x~", 0, 20));
+    }
+
+    @Test
+    void expand_whenQueryValueHasSpace_thenEncodeAsPercent20() {
+        assertEquals("/search?text=power%20drill&from=0&size=20", SEARCH.expand("power drill", 0, 20));
+    }
+
+    @Test
+    void expand_whenQueryValueHasReservedCharacters_thenEncodeThem() {
+        assertEquals("/search?text=drill%20%26%20saw%20%2B%2050%25%20off%2Frent&from=0&size=20",
+                SEARCH.expand(RESERVED_TEXT, 0, 20));
+    }
+
+    @Test
+    void expand_whenQueryValueIsNonAscii_thenEncodeUtf8Bytes() {
+        assertEquals("/search?text=%D0%B4%D1%80%D0%B5%D0%BB%D1%8C%20%D1%83%D0%B4%D0%B0%D1%80%D0%BD%D0%B0%D1%8F"
+                + "&from=0&size=20", SEARCH.expand(CYRILLIC_TEXT, 0, 20));
+    }
+
+    @Test
+    void expand_whenPathValueHasReservedCharacters_thenKeepOneSegment() {
+        String path = OWNER.expand("a/b c+d&e%f");
+
+        assertEquals("/owner/a%2Fb%20c%2Bd%26e%25f/items", path);
+        assertEquals(3, URI.create(path).getRawPath().split("/").length - 1);
+    }
+
+    @Test
+    void expand_whenPathValueIsNonAscii_thenEncodeUtf8Bytes() {
+        assertEquals("/owner/%D0%B4%D1%80%D0%B5%D0%BB%D1%8C/items", OWNER.expand("дрель"));
+    }
+
+    // the server decodes query parameters like a form, so '+' must arrive encoded to stay a '+'
+    @Test
+    void expand_whenQueryDecodedByServer_thenGetOriginalValues() {
+        for (String text : new String[]{RESERVED_TEXT, CYRILLIC_TEXT, "a+b", "100%", "x=1&y=2"}) {
+            UriComponents uri = UriComponentsBuilder.fromUriString(SEARCH.expand(text, 0, 20)).build(true);
+
+            assertEquals(text, URLDecoder.decode(uri.getQueryParams().getFirst("text"), StandardCharsets.UTF_8));
+            assertEquals("0", uri.getQueryParams().getFirst("from"));
+            assertEquals("20", uri.getQueryParams().getFirst("size"));
+        }
+    }
+
+    @Test
+    void expand_whenPathDecoded_thenGetOriginalValue() {
+        String value = "a/b c+d&e%f дрель";
+
+        String segment = URI.create(OWNER.expand(value)).getRawPath().split("/")[2];
+
+        assertEquals(value, URLDecoder.decode(segment, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void expand_whenValueCountDiffers_thenThrowIllegalArgument() {
+        assertThrows(IllegalArgumentException.class, () -> SEARCH.expand("drill", 0));
+    }
+
+    @Test
+    void compile_whenVariableUnclosed_thenThrowIllegalArgument() {
+        assertThrows(IllegalArgumentException.class, () -> PathTemplate.compile("/items/{itemId"));
+    }
+}
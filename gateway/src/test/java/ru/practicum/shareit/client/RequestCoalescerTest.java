@@ -0,0 +1,166 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RequestCoalescerTest {
+
+    private static final String CLIENT = "items";
+    private static final String KEY = "1 http://localhost:9090/items/1";
+    private static final String REQUESTS_COUNTER = "shareit.gateway.coalescing.requests";
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+
+    @AfterEach
+    void afterEach() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void coalesce_whenSameKeyInFlight_thenShareResponse() throws Exception {
+        RequestCoalescer coalescer = new RequestCoalescer(meterRegistry, true);
+        ResponseEntity<Object> response = ResponseEntity.ok("item");
+        Future<ResponseEntity<Object>> leader = executor.submit(() -> coalescer.coalesce(CLIENT, KEY, () -> {
+            upstreamCalls.incrementAndGet();
+            awaitJoined(1);
+            return response;
+        }));
+        awaitForwarded();
+
+        ResponseEntity<Object> joined = coalescer.coalesce(CLIENT, KEY, this::unexpectedCall);
+
+        assertSame(response, joined);
+        assertSame(response, leader.get(5, TimeUnit.SECONDS));
+        assertEquals(1, upstreamCalls.get());
+    }
+
+    @Test
+    void coalesce_whenOtherKeyInFlight_thenCallSeparately() throws Exception {
+        RequestCoalescer coalescer = new RequestCoalescer(meterRegistry, true);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<ResponseEntity<Object>> leader = executor.submit(() -> coalescer.coalesce(CLIENT, KEY, () -> {
+            await(release);
+            return ResponseEntity.ok("item of user 1");
+        }));
+        awaitForwarded();
+
+        ResponseEntity<Object> response = coalescer.coalesce(CLIENT, "2 http://localhost:9090/items/1",
+                () -> ResponseEntity.ok("item of user 2"));
+        release.countDown();
+
+        assertEquals("item of user 2", response.getBody());
+        assertEquals("item of user 1", leader.get(5, TimeUnit.SECONDS).getBody());
+        assertEquals(0, requests("joined"));
+    }
+
+    @Test
+    void coalesce_whenSharedCallFails_thenRethrowToEveryCallerAndForgetFailure() throws Exception {
+        RequestCoalescer coalescer = new RequestCoalescer(meterRegistry, true);
+        IllegalStateException failure = new IllegalStateException("server failed");
+        Future<ResponseEntity<Object>> leader = executor.submit(() -> coalescer.coalesce(CLIENT, KEY, () -> {
+            upstreamCalls.incrementAndGet();
+            awaitJoined(1);
+            throw failure;
+        }));
+        awaitForwarded();
+
+        IllegalStateException joinedFailure = assertThrows(IllegalStateException.class,
+                () -> coalescer.coalesce(CLIENT, KEY, this::unexpectedCall));
+        ExecutionException leaderFailure = assertThrows(ExecutionException.class,
+                () -> leader.get(5, TimeUnit.SECONDS));
+
+        assertSame(failure, joinedFailure);
+        assertSame(failure, leaderFailure.getCause());
+
+        ResponseEntity<Object> retried = coalescer.coalesce(CLIENT, KEY, () -> {
+            upstreamCalls.incrementAndGet();
+            return ResponseEntity.ok("item");
+        });
+
+        assertEquals("item", retried.getBody());
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    @Test
+    void coalesce_whenCompleted_thenCallAgainForNextRequest() {
+        RequestCoalescer coalescer = new RequestCoalescer(meterRegistry, true);
+
+        coalescer.coalesce(CLIENT, KEY, () -> ResponseEntity.ok("old"));
+
+        assertEquals("new", coalescer.coalesce(CLIENT, KEY, () -> ResponseEntity.ok("new")).getBody());
+    }
+
+    @Test
+    void coalesce_whenDisabled_thenCallForEveryRequest() throws Exception {
+        RequestCoalescer coalescer = new RequestCoalescer(meterRegistry, false);
+        CountDownLatch bothCalled = new CountDownLatch(2);
+        Future<ResponseEntity<Object>> first = executor.submit(() -> coalescer.coalesce(CLIENT, KEY, () -> {
+            bothCalled.countDown();
+            await(bothCalled);
+            return ResponseEntity.ok("first");
+        }));
+
+        ResponseEntity<Object> second = coalescer.coalesce(CLIENT, KEY, () -> {
+            bothCalled.countDown();
+            await(bothCalled);
+            return ResponseEntity.ok("second");
+        });
+
+        assertEquals("second", second.getBody());
+        assertEquals("first", first.get(5, TimeUnit.SECONDS).getBody());
+    }
+
+    private ResponseEntity<Object> unexpectedCall() {
+        throw new AssertionError("Request should have joined the call in flight");
+    }
+
+    private double requests(String outcome) {
+        return meterRegistry.counter(REQUESTS_COUNTER, "client", CLIENT, "outcome", outcome).count();
+    }
+
+    private void awaitForwarded() throws InterruptedException {
+        awaitCount("forwarded", 1);
+    }
+
+    private void awaitJoined(int callers) {
+        try {
+            awaitCount("joined", callers);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void awaitCount(String outcome, int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (requests(outcome) < count) {
+            assertTrue(System.nanoTime() < deadline, "Timed out waiting for " + outcome + " requests");
+            Thread.sleep(1);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
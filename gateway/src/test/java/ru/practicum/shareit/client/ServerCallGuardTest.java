@@ -0,0 +1,164 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.ResourceAccessException;
+import ru.practicum.shareit.client.ServerCallProperties.ClientSettings;
+import ru.practicum.shareit.exception.ServerUnavailableException;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ServerCallGuardTest {
+
+    private static final String CLIENT = "items";
+    private static final String CALLS_COUNTER = "shareit.gateway.server.calls";
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    private ServerCallGuard guard;
+
+    @BeforeEach
+    void beforeEach() {
+        ClientSettings settings = new ClientSettings();
+        settings.setMaxConcurrentCalls(1);
+        settings.setMaxWait(Duration.ofMillis(10));
+        settings.setSlidingWindowSize(4);
+        settings.setMinimumCalls(4);
+        ServerCallProperties properties = new ServerCallProperties();
+        properties.getClients().put(CLIENT, settings);
+        guard = new ServerCallGuard(CLIENT, properties, meterRegistry);
+    }
+
+    @AfterEach
+    void afterEach() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void call_whenServerAnswers_thenReturnResponse() {
+        ResponseEntity<Object> response = ResponseEntity.ok("body");
+
+        assertSame(response, guard.call(() -> response));
+        assertEquals(1, calls("success"));
+    }
+
+    @Test
+    void call_whenBulkheadFull_thenThrowServerUnavailable() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<ResponseEntity<Object>> running = executor.submit(() -> guard.call(() -> {
+            entered.countDown();
+            await(release);
+            return ResponseEntity.ok().build();
+        }));
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+        AtomicInteger rejectedCalls = new AtomicInteger();
+
+        ServerUnavailableException exception = assertThrows(ServerUnavailableException.class,
+                () -> guard.call(() -> {
+                    rejectedCalls.incrementAndGet();
+                    return ResponseEntity.ok().build();
+                }));
+
+        assertEquals("Too many concurrent requests to items.", exception.getMessage());
+        assertEquals(0, rejectedCalls.get());
+        assertEquals(1, calls("bulkhead_full"));
+
+        release.countDown();
+        running.get(5, TimeUnit.SECONDS);
+
+        assertEquals(HttpStatus.OK, guard.call(() -> ResponseEntity.ok().build()).getStatusCode());
+    }
+
+    @Test
+    void call_whenBulkheadFull_thenCountNoFailure() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<ResponseEntity<Object>> running = executor.submit(() -> guard.call(() -> {
+            entered.countDown();
+            await(release);
+            return ResponseEntity.ok().build();
+        }));
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+        for (int i = 0; i < 4; i++) {
+            assertThrows(ServerUnavailableException.class, () -> guard.call(() -> ResponseEntity.ok().build()));
+        }
+        release.countDown();
+        running.get(5, TimeUnit.SECONDS);
+
+        assertEquals(0, calls("failure"));
+        assertEquals(HttpStatus.OK, guard.call(() -> ResponseEntity.ok().build()).getStatusCode());
+    }
+
+    @Test
+    void call_whenServerUnreachable_thenThrowServerUnavailable() {
+        ServerUnavailableException exception = assertThrows(ServerUnavailableException.class,
+                () -> guard.call(() -> {
+                    throw new ResourceAccessException("Read timed out");
+                }));
+
+        assertEquals("Server did not respond to items request.", exception.getMessage());
+        assertEquals(1, calls("failure"));
+    }
+
+    @Test
+    void call_whenServerErrorsRepeat_thenOpenCircuitAndRejectWithoutCalling() {
+        for (int i = 0; i < 4; i++) {
+            assertEquals(HttpStatus.SERVICE_UNAVAILABLE,
+                    guard.call(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build()).getStatusCode());
+        }
+        AtomicInteger rejectedCalls = new AtomicInteger();
+
+        ServerUnavailableException exception = assertThrows(ServerUnavailableException.class,
+                () -> guard.call(() -> {
+                    rejectedCalls.incrementAndGet();
+                    return ResponseEntity.ok().build();
+                }));
+
+        assertEquals("Server calls of items are suspended after failures.", exception.getMessage());
+        assertEquals(0, rejectedCalls.get());
+        assertEquals(4, calls("failure"));
+        assertEquals(1, calls("circuit_open"));
+        assertEquals(1, meterRegistry.get("shareit.gateway.server.circuit.open").gauge().value());
+    }
+
+    @Test
+    void call_whenClientErrors_thenKeepCircuitClosed() {
+        for (int i = 0; i < 4; i++) {
+            guard.call(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).build());
+        }
+
+        assertEquals(HttpStatus.OK, guard.call(() -> ResponseEntity.ok().build()).getStatusCode());
+        assertEquals(5, calls("success"));
+    }
+
+    private double calls(String outcome) {
+        return meterRegistry.counter(CALLS_COUNTER, "client", CLIENT, "outcome", outcome).count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package ru.practicum.shareit.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import ru.practicum.shareit.item.ItemClient;
+import ru.practicum.shareit.item.ItemController;
+import ru.practicum.shareit.user.UserClient;
+import ru.practicum.shareit.user.UserController;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest({ItemController.class, UserController.class})
+// the rate limit interceptor of the web configuration counts rejections in a meter registry
+@Import({ConditionalGetConfig.class, SimpleMeterRegistry.class})
+class ConditionalGetConfigTest {
+
+    private static final String X_SHARER_USER_ID = "X-Sharer-User-Id";
+    private static final Long USER_ID = 1L;
+    private static final Long ITEM_ID = 2L;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ItemClient itemClient;
+
+    @MockBean
+    private UserClient userClient;
+
+    @Test
+    void getById_thenAnswerWithEtag() throws Exception {
+        when(itemClient.getById(USER_ID, ITEM_ID)).thenReturn(ResponseEntity.ok(Map.of("id", ITEM_ID)));
+
+        MvcResult result = mockMvc.perform(get("/items/{itemId}", ITEM_ID)
+                        .header(X_SHARER_USER_ID, USER_ID))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertNotNull(result.getResponse().getHeader(HttpHeaders.ETAG));
+        assertEquals("{\"id\":2}", result.getResponse().getContentAsString());
+    }
+
+    @Test
+    void getById_whenEtagMatches_thenAnswerNotModifiedWithoutBody() throws Exception {
+        when(itemClient.getById(USER_ID, ITEM_ID)).thenReturn(ResponseEntity.ok(Map.of("id", ITEM_ID)));
+        String etag = mockMvc.perform(get("/items/{itemId}", ITEM_ID)
+                        .header(X_SHARER_USER_ID, USER_ID))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        MvcResult result = mockMvc.perform(get("/items/{itemId}", ITEM_ID)
+                        .header(X_SHARER_USER_ID, USER_ID)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andReturn();
+
+        assertEquals(etag, result.getResponse().getHeader(HttpHeaders.ETAG));
+        assertEquals(0, result.getResponse().getContentAsByteArray().length);
+    }
+
+    @Test
+    void getById_whenEtagDiffers_thenAnswerWithBody() throws Exception {
+        when(itemClient.getById(USER_ID, ITEM_ID)).thenReturn(ResponseEntity.ok(Map.of("id", ITEM_ID)));
+
+        MvcResult result = mockMvc.perform(get("/items/{itemId}", ITEM_ID)
+                        .header(X_SHARER_USER_ID, USER_ID)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"0123456789abcdef\""))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertEquals("{\"id\":2}", result.getResponse().getContentAsString());
+    }
+
+    @Test
+    void search_thenAnswerWithoutEtag() throws Exception {
+        when(itemClient.search(anyString(), anyLong(), anyInt(), anyInt()))
+                .thenReturn(ResponseEntity.ok(List.of(Map.of("id", ITEM_ID))));
+
+        MvcResult result = mockMvc.perform(get("/items/search")
+                        .header(X_SHARER_USER_ID, USER_ID)
+                        .param("text", "drill"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertNull(result.getResponse().getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void findAllByIds_thenAnswerWithoutEtag() throws Exception {
+        when(userClient.findAllByIds(List.of(USER_ID, 3L)))
+                .thenReturn(ResponseEntity.ok(List.of(Map.of("id", USER_ID), Map.of("id", 3L))));
+
+        MvcResult result = mockMvc.perform(get("/users")
+                        .param("ids", "1,3"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertNull(result.getResponse().getHeader(HttpHeaders.ETAG));
+    }
+}
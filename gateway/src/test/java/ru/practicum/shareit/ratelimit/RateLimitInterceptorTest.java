@@ -0,0 +1,162 @@
+package ru.practicum.shareit.ratelimit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimitInterceptorTest {
+
+    private static final String X_SHARER_USER_ID = "X-Sharer-User-Id";
+    private static final String SEARCH_ROUTE = "/items/search";
+    private static final String ITEMS_ROUTE = "/items";
+    private static final int BURST = 12;
+
+    private final AtomicLong nanoClock = new AtomicLong();
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private RateLimitInterceptor interceptor;
+
+    @BeforeEach
+    void beforeEach() {
+        nanoClock.set(TimeUnit.HOURS.toNanos(1));
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setTokensPerSecond(1);
+        properties.setBurst(BURST);
+        properties.setRouteCosts(Map.of(SEARCH_ROUTE, 2));
+        properties.setPageSize(20);
+        interceptor = new RateLimitInterceptor(new RateLimiter(properties.getTokensPerSecond(),
+                properties.getBurst(), nanoClock::get), properties, meterRegistry);
+    }
+
+    @Test
+    void preHandle_whenWithinBurst_thenPass() {
+        for (int i = 0; i < BURST; i++) {
+            assertTrue(preHandle(request(ITEMS_ROUTE, "1")));
+        }
+    }
+
+    @Test
+    void preHandle_whenBurstSpent_thenThrowTooManyRequestsWithRetryAfter() {
+        for (int i = 0; i < BURST; i++) {
+            preHandle(request(ITEMS_ROUTE, "1"));
+        }
+
+        TooManyRequestsException exception = assertThrows(TooManyRequestsException.class,
+                () -> preHandle(request(ITEMS_ROUTE, "1")));
+
+        assertEquals(1, exception.getRetryAfterSeconds());
+        assertEquals("Request rate limit exceeded, retry in 1 s.", exception.getMessage());
+        assertEquals(1, meterRegistry.counter("shareit.gateway.rate-limit.rejected", "route", ITEMS_ROUTE).count());
+    }
+
+    @Test
+    void preHandle_whenWaitIsFractionOfSecond_thenRoundRetryAfterUp() {
+        for (int i = 0; i < BURST; i++) {
+            preHandle(request(ITEMS_ROUTE, "1"));
+        }
+        nanoClock.addAndGet(TimeUnit.MILLISECONDS.toNanos(700));
+
+        TooManyRequestsException exception = assertThrows(TooManyRequestsException.class,
+                () -> preHandle(request(SEARCH_ROUTE, "1")));
+
+        assertEquals(2, exception.getRetryAfterSeconds());
+    }
+
+    @Test
+    void preHandle_whenRouteHasCost_thenTakeRouteCost() {
+        for (int i = 0; i < BURST / 2; i++) {
+            assertTrue(preHandle(request(SEARCH_ROUTE, "1")));
+        }
+
+        assertThrows(TooManyRequestsException.class, () -> preHandle(request(ITEMS_ROUTE, "1")));
+    }
+
+    @Test
+    void preHandle_whenRouteHasCostButMethodIsNotGet_thenTakeOneToken() {
+        for (int i = 0; i < BURST; i++) {
+            MockHttpServletRequest post = request(SEARCH_ROUTE, "1");
+            post.setMethod("POST");
+            post.setParameter("size", "50");
+            assertTrue(preHandle(post));
+        }
+
+        assertThrows(TooManyRequestsException.class, () -> preHandle(request(ITEMS_ROUTE, "1")));
+    }
+
+    @Test
+    void preHandle_whenSizeAboveOnePage_thenMultiplyCostByPages() {
+        MockHttpServletRequest request = request(SEARCH_ROUTE, "1");
+        request.setParameter("size", "50");
+
+        assertTrue(preHandle(request));
+        assertTrue(preHandle(request));
+
+        TooManyRequestsException exception = assertThrows(TooManyRequestsException.class,
+                () -> preHandle(request));
+
+        assertEquals(6, exception.getRetryAfterSeconds());
+    }
+
+    @Test
+    void preHandle_whenSizeWithinOnePageOrInvalid_thenTakeRouteCost() {
+        MockHttpServletRequest small = request(SEARCH_ROUTE, "1");
+        small.setParameter("size", "5");
+        MockHttpServletRequest invalid = request(SEARCH_ROUTE, "1");
+        invalid.setParameter("size", "many");
+
+        for (int i = 0; i < BURST / 4; i++) {
+            assertTrue(preHandle(small));
+            assertTrue(preHandle(invalid));
+        }
+
+        assertThrows(TooManyRequestsException.class, () -> preHandle(request(ITEMS_ROUTE, "1")));
+    }
+
+    @Test
+    void preHandle_whenUsersDiffer_thenLimitSeparately() {
+        for (int i = 0; i < BURST; i++) {
+            preHandle(request(ITEMS_ROUTE, "1"));
+        }
+
+        assertTrue(preHandle(request(ITEMS_ROUTE, "2")));
+    }
+
+    @Test
+    void preHandle_whenNoUserHeader_thenLimitByAddress() {
+        for (int i = 0; i < BURST; i++) {
+            preHandle(request(ITEMS_ROUTE, null));
+        }
+
+        assertThrows(TooManyRequestsException.class, () -> preHandle(request(ITEMS_ROUTE, null)));
+
+        MockHttpServletRequest otherAddress = request(ITEMS_ROUTE, null);
+        otherAddress.setRemoteAddr("10.0.0.2");
+
+        assertTrue(preHandle(otherAddress));
+    }
+
+    private boolean preHandle(MockHttpServletRequest request) {
+        return interceptor.preHandle(request, new MockHttpServletResponse(), new Object());
+    }
+
+    private static MockHttpServletRequest request(String route, String userId) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", route);
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, route);
+        if (userId != null) {
+            request.addHeader(X_SHARER_USER_ID, userId);
+        }
+        return request;
+    }
+}
@@ -0,0 +1,117 @@
+package ru.practicum.shareit.ratelimit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RateLimiterTest {
+
+    private static final double TOKENS_PER_SECOND = 10;
+    private static final int BURST = 5;
+    private static final long NANOS_PER_TOKEN = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final int SWEEP_INTERVAL = 4096;
+    private static final String KEY = "1";
+
+    private final AtomicLong nanoClock = new AtomicLong();
+
+    private RateLimiter rateLimiter;
+
+    @BeforeEach
+    void beforeEach() {
+        nanoClock.set(TimeUnit.HOURS.toNanos(1));
+        rateLimiter = new RateLimiter(TOKENS_PER_SECOND, BURST, nanoClock::get);
+    }
+
+    @Test
+    void tryAcquire_whenBurstSpent_thenReturnWaitForNextToken() {
+        for (int i = 0; i < BURST; i++) {
+            assertEquals(0, rateLimiter.tryAcquire(KEY, 1));
+        }
+
+        assertEquals(NANOS_PER_TOKEN, rateLimiter.tryAcquire(KEY, 1));
+    }
+
+    @Test
+    void tryAcquire_whenRejected_thenTakeNoTokens() {
+        rateLimiter.tryAcquire(KEY, BURST);
+
+        assertEquals(NANOS_PER_TOKEN, rateLimiter.tryAcquire(KEY, 1));
+        assertEquals(NANOS_PER_TOKEN, rateLimiter.tryAcquire(KEY, 1));
+
+        nanoClock.addAndGet(NANOS_PER_TOKEN);
+
+        assertEquals(0, rateLimiter.tryAcquire(KEY, 1));
+    }
+
+    @Test
+    void tryAcquire_whenTimePassed_thenRefillAtRate() {
+        rateLimiter.tryAcquire(KEY, BURST);
+
+        nanoClock.addAndGet(2 * NANOS_PER_TOKEN + NANOS_PER_TOKEN / 2);
+
+        assertEquals(0, rateLimiter.tryAcquire(KEY, 1));
+        assertEquals(0, rateLimiter.tryAcquire(KEY, 1));
+        assertEquals(NANOS_PER_TOKEN / 2, rateLimiter.tryAcquire(KEY, 1));
+    }
+
+    @Test
+    void tryAcquire_whenIdleLongerThanBurst_thenRefillNoMoreThanBurst() {
+        rateLimiter.tryAcquire(KEY, BURST);
+
+        nanoClock.addAndGet(TimeUnit.MINUTES.toNanos(1));
+
+        assertEquals(0, rateLimiter.tryAcquire(KEY, BURST));
+        assertEquals(NANOS_PER_TOKEN, rateLimiter.tryAcquire(KEY, 1));
+    }
+
+    @Test
+    void tryAcquire_whenSeveralTokens_thenReturnWaitForAllOfThem() {
+        rateLimiter.tryAcquire(KEY, BURST);
+
+        assertEquals(3 * NANOS_PER_TOKEN, rateLimiter.tryAcquire(KEY, 3));
+    }
+
+    @Test
+    void tryAcquire_whenCostAboveBurst_thenCapAtBurst() {
+        assertEquals(0, rateLimiter.tryAcquire(KEY, 10 * BURST));
+        assertEquals(NANOS_PER_TOKEN, rateLimiter.tryAcquire(KEY, 1));
+    }
+
+    @Test
+    void tryAcquire_whenKeysDiffer_thenSpendSeparateBuckets() {
+        rateLimiter.tryAcquire(KEY, BURST);
+
+        assertEquals(0, rateLimiter.tryAcquire("2", BURST));
+        assertEquals(NANOS_PER_TOKEN, rateLimiter.tryAcquire(KEY, 1));
+    }
+
+    @Test
+    void tryAcquire_whenSweepIntervalReached_thenForgetRefilledBuckets() {
+        rateLimiter.tryAcquire("idle", 1);
+        nanoClock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        for (int i = 0; i < SWEEP_INTERVAL - 2; i++) {
+            rateLimiter.tryAcquire(KEY, 1);
+        }
+
+        assertEquals(2, rateLimiter.trackedKeys());
+
+        rateLimiter.tryAcquire(KEY, 1);
+
+        assertEquals(1, rateLimiter.trackedKeys());
+    }
+
+    @Test
+    void tryAcquire_whenSweptKeyReturns_thenStartWithFullBurst() {
+        rateLimiter.tryAcquire("idle", BURST);
+        nanoClock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        for (int i = 0; i < SWEEP_INTERVAL - 1; i++) {
+            rateLimiter.tryAcquire(KEY, 1);
+        }
+
+        assertEquals(0, rateLimiter.tryAcquire("idle", BURST));
+    }
+}
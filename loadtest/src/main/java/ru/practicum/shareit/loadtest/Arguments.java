@@ -0,0 +1,51 @@
+package ru.practicum.shareit.loadtest;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+public class Arguments {
+
+    private static final String PREFIX = "--";
+
+    private final Map<String, String> values = new HashMap<>();
+
+    public Arguments(String[] args, int skip) {
+        for (int i = skip; i < args.length; i++) {
+            String arg = args[i];
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith(PREFIX) || separator < 0) {
+                throw new IllegalArgumentException("Expected --name=value argument: " + arg);
+            }
+            values.put(arg.substring(PREFIX.length(), separator), arg.substring(separator + 1));
+        }
+    }
+
+    public String string(String name, String defaultValue) {
+        return values.getOrDefault(name, defaultValue);
+    }
+
+    public String required(String name) {
+        String value = values.get(name);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing required argument --" + name);
+        }
+        return value;
+    }
+
+    public int intValue(String name, int defaultValue) {
+        String value = values.get(name);
+        return value == null ? defaultValue : Integer.parseInt(value);
+    }
+
+    public long longValue(String name, long defaultValue) {
+        String value = values.get(name);
+        return value == null ? defaultValue : Long.parseLong(value.replace("_", ""));
+    }
+
+    // accepts 30s, 5m, 1h
+    public Duration duration(String name, Duration defaultValue) {
+        String value = values.get(name);
+        return value == null ? defaultValue : Duration.parse("PT" + value.toUpperCase());
+    }
+}
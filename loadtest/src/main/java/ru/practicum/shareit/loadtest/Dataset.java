@@ -0,0 +1,121 @@
+package ru.practicum.shareit.loadtest;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+import java.util.Random;
+
+public class Dataset {
+
+    private final IdRange users;
+    private final IdRange requests;
+    private final IdRange items;
+    private final IdRange bookings;
+    private final IdRange comments;
+
+    public Dataset(IdRange users, IdRange requests, IdRange items, IdRange bookings, IdRange comments) {
+        this.users = users;
+        this.requests = requests;
+        this.items = items;
+        this.bookings = bookings;
+        this.comments = comments;
+    }
+
+    public IdRange getUsers() {
+        return users;
+    }
+
+    public IdRange getRequests() {
+        return requests;
+    }
+
+    public IdRange getItems() {
+        return items;
+    }
+
+    public IdRange getBookings() {
+        return bookings;
+    }
+
+    public IdRange getComments() {
+        return comments;
+    }
+
+    public void save(Path path) throws IOException {
+        Properties properties = new Properties();
+        users.store(properties, "users");
+        requests.store(properties, "requests");
+        items.store(properties, "items");
+        bookings.store(properties, "bookings");
+        comments.store(properties, "comments");
+        try (Writer writer = Files.newBufferedWriter(path)) {
+            properties.store(writer, "ShareIt load test dataset");
+        }
+    }
+
+    public static Dataset load(Path path) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(path)) {
+            properties.load(reader);
+        }
+        return new Dataset(
+                IdRange.load(properties, "users"),
+                IdRange.load(properties, "requests"),
+                IdRange.load(properties, "items"),
+                IdRange.load(properties, "bookings"),
+                IdRange.load(properties, "comments")
+        );
+    }
+
+    @Override
+    public String toString() {
+        return "users " + users + ", requests " + requests + ", items " + items
+                + ", bookings " + bookings + ", comments " + comments;
+    }
+
+    public static class IdRange {
+        private final long first;
+        private final long last;
+
+        public IdRange(long first, long last) {
+            this.first = first;
+            this.last = last;
+        }
+
+        public long getFirst() {
+            return first;
+        }
+
+        public long getLast() {
+            return last;
+        }
+
+        public long size() {
+            return last - first + 1;
+        }
+
+        public long random(Random random) {
+            return first + (long) (random.nextDouble() * size());
+        }
+
+        private void store(Properties properties, String name) {
+            properties.setProperty(name + ".first", String.valueOf(first));
+            properties.setProperty(name + ".last", String.valueOf(last));
+        }
+
+        private static IdRange load(Properties properties, String name) {
+            return new IdRange(
+                    Long.parseLong(properties.getProperty(name + ".first")),
+                    Long.parseLong(properties.getProperty(name + ".last"))
+            );
+        }
+
+        @Override
+        public String toString() {
+            return size() + " [" + first + ".." + last + "]";
+        }
+    }
+}
@@ -0,0 +1,266 @@
+package ru.practicum.shareit.loadtest;
+
+import ru.practicum.shareit.loadtest.Dataset.IdRange;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Random;
+
+public class DatasetGenerator {
+
+    private static final int BATCH_SIZE = 1000;
+    private static final double USERS_SHARE = 0.05;
+    private static final double REQUESTS_SHARE = 0.05;
+    private static final double ITEMS_SHARE = 0.15;
+    private static final double COMMENTS_SHARE = 0.10;
+    private static final double ITEMS_FOR_REQUEST_SHARE = 0.3;
+    private static final double UNAVAILABLE_ITEMS_SHARE = 0.1;
+    private static final double PAST_BOOKINGS_SHARE = 0.7;
+    private static final double CURRENT_BOOKINGS_SHARE = 0.1;
+    private static final double PAST_APPROVED_SHARE = 0.8;
+    private static final double MEAN_BOOKING_HOURS = 48;
+    private static final long MAX_BOOKING_HOURS = 14 * 24;
+    private static final long HISTORY_MINUTES = 365 * 24 * 60;
+    private static final long PLANNING_MINUTES = 90 * 24 * 60;
+
+    static final String[] THINGS = {
+            "drill", "bike", "tent", "ladder", "camera", "guitar", "kayak", "projector", "saw", "scooter"
+    };
+    private static final String[] ADJECTIVES = {
+            "cordless", "folding", "electric", "vintage", "compact", "heavy", "kids", "professional"
+    };
+
+    private static final String INSERT_USER = "insert into users (id, name, email, normalized_email) values (?, ?, ?, ?)";
+    private static final String INSERT_REQUEST =
+            "insert into requests (id, description, requester_id, created) values (?, ?, ?, ?)";
+    private static final String INSERT_ITEM =
+            "insert into items (id, name, description, is_available, owner_id, request_id) values (?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_BOOKING =
+            "insert into bookings (id, start_date, end_date, item_id, booker_id, status) values (?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_COMMENT =
+            "insert into comments (id, text, item_id, author_id, created) values (?, ?, ?, ?, ?)";
+
+    private final Connection connection;
+    private final Random random;
+    private final LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES);
+
+    public DatasetGenerator(Connection connection, long seed) {
+        this.connection = connection;
+        this.random = new Random(seed);
+    }
+
+    public Dataset generate(long rows) throws SQLException {
+        connection.setAutoCommit(false);
+        long userCount = Math.max(2, (long) (rows * USERS_SHARE));
+        long requestCount = Math.max(1, (long) (rows * REQUESTS_SHARE));
+        long itemCount = Math.max(1, (long) (rows * ITEMS_SHARE));
+        long commentTarget = (long) (rows * COMMENTS_SHARE);
+        long bookingCount = Math.max(1, rows - userCount - requestCount - itemCount - commentTarget);
+
+        IdRange users = insertUsers(nextIdRange("users", userCount));
+        IdRange requests = insertRequests(nextIdRange("requests", requestCount), users);
+        long[] itemOwners = new long[Math.toIntExact(itemCount)];
+        IdRange items = insertItems(nextIdRange("items", itemCount), users, requests, itemOwners);
+        double commentProbability = Math.min(1,
+                commentTarget / (bookingCount * PAST_BOOKINGS_SHARE * PAST_APPROVED_SHARE));
+        IdRange bookings = nextIdRange("bookings", bookingCount);
+        IdRange comments = insertBookingsAndComments(bookings, users, items, itemOwners, commentProbability);
+
+        for (String table : new String[]{"users", "requests", "items", "bookings", "comments"}) {
+            restartIdentity(table);
+        }
+        connection.commit();
+        return new Dataset(users, requests, items, bookings, comments);
+    }
+
+    private IdRange insertUsers(IdRange users) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(INSERT_USER)) {
+            for (long id = users.getFirst(); id <= users.getLast(); id++) {
+                statement.setLong(1, id);
+                statement.setString(2, "user" + id);
+                String email = "loadtest.user" + id + "@shareit.test";
+                statement.setString(3, email);
+                statement.setString(4, email);
+                addBatch(statement, id - users.getFirst() + 1);
+            }
+            statement.executeBatch();
+        }
+        connection.commit();
+        return users;
+    }
+
+    private IdRange insertRequests(IdRange requests, IdRange users) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(INSERT_REQUEST)) {
+            for (long id = requests.getFirst(); id <= requests.getLast(); id++) {
+                statement.setLong(1, id);
+                statement.setString(2, "Looking for a " + itemName());
+                statement.setLong(3, users.random(random));
+                statement.setTimestamp(4, Timestamp.valueOf(now.minusMinutes(randomMinutes(HISTORY_MINUTES))));
+                addBatch(statement, id - requests.getFirst() + 1);
+            }
+            statement.executeBatch();
+        }
+        connection.commit();
+        return requests;
+    }
+
+    private IdRange insertItems(IdRange items, IdRange users, IdRange requests, long[] itemOwners)
+            throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(INSERT_ITEM)) {
+            for (long id = items.getFirst(); id <= items.getLast(); id++) {
+                long ownerId = users.random(random);
+                itemOwners[(int) (id - items.getFirst())] = ownerId;
+                String name = itemName();
+                statement.setLong(1, id);
+                statement.setString(2, name);
+                statement.setString(3, "Well kept " + name + ", pick up in person");
+                statement.setBoolean(4, random.nextDouble() >= UNAVAILABLE_ITEMS_SHARE);
+                statement.setLong(5, ownerId);
+                if (random.nextDouble() < ITEMS_FOR_REQUEST_SHARE) {
+                    statement.setLong(6, requests.random(random));
+                } else {
+                    statement.setNull(6, java.sql.Types.BIGINT);
+                }
+                addBatch(statement, id - items.getFirst() + 1);
+            }
+            statement.executeBatch();
+        }
+        connection.commit();
+        return items;
+    }
+
+    private IdRange insertBookingsAndComments(IdRange bookings,
+                                              IdRange users,
+                                              IdRange items,
+                                              long[] itemOwners,
+                                              double commentProbability) throws SQLException {
+        long firstCommentId = nextId("comments");
+        long commentId = firstCommentId;
+        try (PreparedStatement bookingStatement = connection.prepareStatement(INSERT_BOOKING);
+             PreparedStatement commentStatement = connection.prepareStatement(INSERT_COMMENT)) {
+            for (long id = bookings.getFirst(); id <= bookings.getLast(); id++) {
+                // a few popular items get most of the bookings
+                int itemIndex = (int) (itemOwners.length * Math.pow(random.nextDouble(), 3));
+                long itemId = items.getFirst() + itemIndex;
+                long bookerId = bookerOf(users, itemOwners[itemIndex]);
+                BookingTime time = bookingTime();
+                bookingStatement.setLong(1, id);
+                bookingStatement.setTimestamp(2, Timestamp.valueOf(time.start));
+                bookingStatement.setTimestamp(3, Timestamp.valueOf(time.end));
+                bookingStatement.setLong(4, itemId);
+                bookingStatement.setLong(5, bookerId);
+                bookingStatement.setString(6, time.status);
+                addBatch(bookingStatement, id - bookings.getFirst() + 1);
+                if (time.commentable && random.nextDouble() < commentProbability) {
+                    LocalDateTime created = time.end.plusMinutes(randomMinutes(3 * 24 * 60));
+                    commentStatement.setLong(1, commentId);
+                    commentStatement.setString(2, "Thanks, the " + THINGS[random.nextInt(THINGS.length)] + " was fine");
+                    commentStatement.setLong(3, itemId);
+                    commentStatement.setLong(4, bookerId);
+                    commentStatement.setTimestamp(5, Timestamp.valueOf(created.isAfter(now) ? now : created));
+                    addBatch(commentStatement, commentId - firstCommentId + 1);
+                    commentId++;
+                }
+            }
+            bookingStatement.executeBatch();
+            commentStatement.executeBatch();
+        }
+        connection.commit();
+        return new IdRange(firstCommentId, commentId - 1);
+    }
+
+    private long bookerOf(IdRange users, long ownerId) {
+        long bookerId = users.random(random);
+        while (bookerId == ownerId) {
+            bookerId = users.random(random);
+        }
+        return bookerId;
+    }
+
+    private BookingTime bookingTime() {
+        double kind = random.nextDouble();
+        long durationMinutes = bookingMinutes();
+        if (kind < PAST_BOOKINGS_SHARE) {
+            LocalDateTime end = now.minusMinutes(1 + randomMinutes(HISTORY_MINUTES));
+            double status = random.nextDouble();
+            if (status < PAST_APPROVED_SHARE) {
+                return new BookingTime(end.minusMinutes(durationMinutes), end, "APPROVED", true);
+            }
+            return new BookingTime(end.minusMinutes(durationMinutes), end, status < 0.95 ? "REJECTED" : "CANCELED", false);
+        }
+        if (kind < PAST_BOOKINGS_SHARE + CURRENT_BOOKINGS_SHARE) {
+            LocalDateTime start = now.minusMinutes(1 + randomMinutes(durationMinutes));
+            LocalDateTime end = start.plusMinutes(durationMinutes).isAfter(now)
+                    ? start.plusMinutes(durationMinutes)
+                    : now.plusHours(1);
+            return new BookingTime(start, end, random.nextDouble() < 0.9 ? "APPROVED" : "WAITING", false);
+        }
+        LocalDateTime start = now.plusMinutes(60 + randomMinutes(PLANNING_MINUTES));
+        double status = random.nextDouble();
+        String futureStatus = status < 0.5 ? "WAITING" : status < 0.9 ? "APPROVED" : "REJECTED";
+        return new BookingTime(start, start.plusMinutes(durationMinutes), futureStatus, false);
+    }
+
+    // exponentially distributed, so most bookings last a day or two and a few last up to two weeks
+    private long bookingMinutes() {
+        double hours = 1 - Math.log(1 - random.nextDouble()) * MEAN_BOOKING_HOURS;
+        return (long) (Math.min(hours, MAX_BOOKING_HOURS) * 60);
+    }
+
+    private long randomMinutes(long bound) {
+        return (long) (random.nextDouble() * bound);
+    }
+
+    private String itemName() {
+        return ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " " + THINGS[random.nextInt(THINGS.length)];
+    }
+
+    private IdRange nextIdRange(String table, long count) throws SQLException {
+        long first = nextId(table);
+        return new IdRange(first, first + count - 1);
+    }
+
+    private long nextId(String table) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("select coalesce(max(id), 0) + 1 from " + table)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    // rows are inserted with explicit ids, so identity columns have to continue after them
+    private void restartIdentity(String table) throws SQLException {
+        long nextId = nextId(table);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("alter table " + table + " alter column id restart with " + nextId);
+        }
+    }
+
+    private void addBatch(PreparedStatement statement, long added) throws SQLException {
+        statement.addBatch();
+        if (added % BATCH_SIZE == 0) {
+            statement.executeBatch();
+            connection.commit();
+        }
+    }
+
+    private static class BookingTime {
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+        private final String status;
+        private final boolean commentable;
+
+        private BookingTime(LocalDateTime start, LocalDateTime end, String status, boolean commentable) {
+            this.start = start;
+            this.end = end;
+            this.status = status;
+            this.commentable = commentable;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package ru.practicum.shareit.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class LoadRunner {
+
+    private static final String X_SHARER_USER_ID = "X-Sharer-User-Id";
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final String gatewayUrl;
+    private final Dataset dataset;
+    private final Scenario scenario;
+    private final int concurrency;
+    private final Duration warmup;
+    private final Duration duration;
+    private final long seed;
+
+    // a null scenario runs the weighted mix of all of them
+    public LoadRunner(String gatewayUrl,
+                      Dataset dataset,
+                      Scenario scenario,
+                      int concurrency,
+                      Duration warmup,
+                      Duration duration,
+                      long seed) {
+        this.gatewayUrl = gatewayUrl;
+        this.dataset = dataset;
+        this.scenario = scenario;
+        this.concurrency = concurrency;
+        this.warmup = warmup;
+        this.duration = duration;
+        this.seed = seed;
+    }
+
+    public Map<Scenario, LatencyRecorder> run() throws Exception {
+        long measureFrom = System.nanoTime() + warmup.toNanos();
+        long measureTo = measureFrom + duration.toNanos();
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        List<Future<Map<Scenario, LatencyRecorder>>> results = new ArrayList<>();
+        for (int i = 0; i < concurrency; i++) {
+            Random random = new Random(seed + i);
+            results.add(workers.submit(() -> work(random, measureFrom, measureTo)));
+        }
+        Map<Scenario, LatencyRecorder> merged = new EnumMap<>(Scenario.class);
+        try {
+            for (Future<Map<Scenario, LatencyRecorder>> result : results) {
+                result.get().forEach((s, recorder) ->
+                        merged.computeIfAbsent(s, key -> new LatencyRecorder()).merge(recorder));
+            }
+        } finally {
+            workers.shutdownNow();
+        }
+        return merged;
+    }
+
+    public void report(Map<Scenario, LatencyRecorder> recorders, PrintStream out) {
+        double seconds = duration.toMillis() / 1000.0;
+        out.printf("%-18s %10s %8s %10s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms");
+        recorders.forEach((s, recorder) -> {
+            LatencyRecorder.Summary summary = recorder.summarize();
+            out.printf("%-18s %10d %8d %10.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    s.getEndpoint(),
+                    summary.count(),
+                    summary.errors(),
+                    summary.count() / seconds,
+                    summary.percentileMillis(50),
+                    summary.percentileMillis(90),
+                    summary.percentileMillis(99),
+                    summary.maxMillis());
+        });
+    }
+
+    private Map<Scenario, LatencyRecorder> work(Random random, long measureFrom, long measureTo) {
+        Map<Scenario, LatencyRecorder> recorders = new EnumMap<>(Scenario.class);
+        while (System.nanoTime() < measureTo && !Thread.currentThread().isInterrupted()) {
+            Scenario next = scenario == null ? Scenario.pick(random) : scenario;
+            HttpRequest request = HttpRequest.newBuilder(URI.create(gatewayUrl + next.pathAndQuery(random)))
+                    .timeout(REQUEST_TIMEOUT)
+                    .header(X_SHARER_USER_ID, String.valueOf(dataset.getUsers().random(random)))
+                    .GET()
+                    .build();
+            long sentAt = System.nanoTime();
+            int status = send(request);
+            long receivedAt = System.nanoTime();
+            if (sentAt >= measureFrom && receivedAt <= measureTo) {
+                recorders.computeIfAbsent(next, key -> new LatencyRecorder())
+                        .record(receivedAt - sentAt, status >= 200 && status < 300);
+            }
+        }
+        return recorders;
+    }
+
+    private int send(HttpRequest request) {
+        try {
+            return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (IOException e) {
+            return -1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return -1;
+        }
+    }
+}
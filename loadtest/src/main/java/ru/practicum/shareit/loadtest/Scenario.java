@@ -0,0 +1,88 @@
+package ru.practicum.shareit.loadtest;
+
+import java.util.Random;
+
+public enum Scenario {
+
+    BOOKINGS("/bookings", 25) {
+        @Override
+        String pathAndQuery(Random random) {
+            return "/bookings?state=" + bookingState(random) + "&from=0&size=" + PAGE_SIZE;
+        }
+    },
+    OWNER_BOOKINGS("/bookings/owner", 20) {
+        @Override
+        String pathAndQuery(Random random) {
+            return "/bookings/owner?state=" + bookingState(random) + "&from=0&size=" + PAGE_SIZE;
+        }
+    },
+    ITEMS("/items", 20) {
+        @Override
+        String pathAndQuery(Random random) {
+            return "/items?from=0&size=" + PAGE_SIZE;
+        }
+    },
+    SEARCH("/items/search", 25) {
+        @Override
+        String pathAndQuery(Random random) {
+            String text = DatasetGenerator.THINGS[random.nextInt(DatasetGenerator.THINGS.length)];
+            return "/items/search?text=" + text + "&from=0&size=" + PAGE_SIZE;
+        }
+    },
+    ALL_REQUESTS("/requests/all", 10) {
+        @Override
+        String pathAndQuery(Random random) {
+            return "/requests/all?from=0&size=" + PAGE_SIZE;
+        }
+    };
+
+    private static final int PAGE_SIZE = 20;
+    private static final String[] BOOKING_STATES = {"ALL", "CURRENT", "PAST", "FUTURE", "WAITING", "REJECTED"};
+    private static final int TOTAL_WEIGHT = totalWeight();
+
+    private final String endpoint;
+    private final int weight;
+
+    Scenario(String endpoint, int weight) {
+        this.endpoint = endpoint;
+        this.weight = weight;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    abstract String pathAndQuery(Random random);
+
+    public static Scenario pick(Random random) {
+        int point = random.nextInt(TOTAL_WEIGHT);
+        for (Scenario scenario : values()) {
+            point -= scenario.weight;
+            if (point < 0) {
+                return scenario;
+            }
+        }
+        return BOOKINGS;
+    }
+
+    public static Scenario byName(String name) {
+        for (Scenario scenario : values()) {
+            if (scenario.name().equalsIgnoreCase(name) || scenario.endpoint.equals(name)) {
+                return scenario;
+            }
+        }
+        throw new IllegalArgumentException("Unknown scenario: " + name);
+    }
+
+    private static String bookingState(Random random) {
+        return BOOKING_STATES[random.nextInt(BOOKING_STATES.length)];
+    }
+
+    private static int totalWeight() {
+        int total = 0;
+        for (Scenario scenario : values()) {
+            total += scenario.weight;
+        }
+        return total;
+    }
+}
@@ -0,0 +1,66 @@
+package ru.practicum.shareit.loadtest;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.time.Duration;
+import java.util.Map;
+
+public class ShareItLoadTest {
+
+    private static final String DEFAULT_DATASET = "loadtest-dataset.properties";
+    private static final String USAGE = String.join(System.lineSeparator(),
+            "usage:",
+            "  generate --jdbc-url=<url> [--user=root] [--password=password] [--rows=100000] [--seed=42]"
+                    + " [--dataset=" + DEFAULT_DATASET + "]",
+            "  run [--gateway=http://localhost:8080] [--scenario=mixed|bookings|owner_bookings|items|search|all_requests]"
+                    + " [--concurrency=16] [--warmup=10s] [--duration=60s] [--seed=42] [--dataset=" + DEFAULT_DATASET + "]");
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            System.out.println(USAGE);
+            System.exit(1);
+        }
+        Arguments arguments = new Arguments(args, 1);
+        Path datasetPath = Path.of(arguments.string("dataset", DEFAULT_DATASET));
+        switch (args[0]) {
+            case "generate":
+                generate(arguments, datasetPath);
+                break;
+            case "run":
+                run(arguments, datasetPath);
+                break;
+            default:
+                System.out.println(USAGE);
+                System.exit(1);
+        }
+    }
+
+    private static void generate(Arguments arguments, Path datasetPath) throws Exception {
+        long rows = arguments.longValue("rows", 100_000);
+        long started = System.nanoTime();
+        try (Connection connection = DriverManager.getConnection(
+                arguments.required("jdbc-url"),
+                arguments.string("user", "root"),
+                arguments.string("password", "password"))) {
+            Dataset dataset = new DatasetGenerator(connection, arguments.longValue("seed", 42)).generate(rows);
+            dataset.save(datasetPath);
+            System.out.printf("Generated %s in %d s, saved to %s%n",
+                    dataset, Duration.ofNanos(System.nanoTime() - started).toSeconds(), datasetPath);
+        }
+    }
+
+    private static void run(Arguments arguments, Path datasetPath) throws Exception {
+        String scenarioName = arguments.string("scenario", "mixed");
+        LoadRunner runner = new LoadRunner(
+                arguments.string("gateway", "http://localhost:8080"),
+                Dataset.load(datasetPath),
+                "mixed".equals(scenarioName) ? null : Scenario.byName(scenarioName),
+                arguments.intValue("concurrency", 16),
+                arguments.duration("warmup", Duration.ofSeconds(10)),
+                arguments.duration("duration", Duration.ofSeconds(60)),
+                arguments.longValue("seed", 42));
+        Map<Scenario, LatencyRecorder> recorders = runner.run();
+        runner.report(recorders, System.out);
+    }
+}
@@ -1,5 +1,7 @@
 package ru.practicum.shareit.booking.model;
 
+import java.util.List;
+
 public enum BookingStatus {
 
     WAITING,
@@ -14,4 +16,12 @@ public enum BookingStatus {
             return BookingStatus.REJECTED;
         }
     }
+
+    public static List<BookingStatus> getOccupyingItem() {
+        return List.of(BookingStatus.APPROVED, BookingStatus.WAITING);
+    }
+
+    public boolean isOccupyingItem() {
+        return this == BookingStatus.APPROVED || this == BookingStatus.WAITING;
+    }
 }
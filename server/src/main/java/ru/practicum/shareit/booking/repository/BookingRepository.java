@@ -9,6 +9,8 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
@@ -89,5 +91,15 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
             LocalDateTime now
     );
 
+    @Query(" select b from bookings b " +
+            " where b.item.id = ?1 and b.status in ?2 and b.start < ?4 and b.end > ?3 " +
+            " order by b.start asc")
+    List<Booking> findItemBookingsInPeriod(
+            Long itemId,
+            Collection<BookingStatus> statuses,
+            LocalDateTime from,
+            LocalDateTime to
+    );
+
 }
 
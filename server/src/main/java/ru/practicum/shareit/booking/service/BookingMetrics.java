@@ -0,0 +1,34 @@
+package ru.practicum.shareit.booking.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.service.BookingServiceImpl.SearchCondition;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+@Component
+@RequiredArgsConstructor
+public class BookingMetrics {
+
+    private static final String SEARCH_TIMER = "shareit.bookings.search";
+    private static final String STATUS_TRANSITIONS_COUNTER = "shareit.bookings.status.transitions";
+    private static final String NEW_BOOKING_STATUS = "NEW";
+
+    private final MeterRegistry meterRegistry;
+
+    public <T> T timeSearch(SearchCondition condition, Supplier<T> search) {
+        return Timer.builder(SEARCH_TIMER)
+                .tag("condition", condition.name())
+                .register(meterRegistry)
+                .record(search);
+    }
+
+    public void countStatusTransition(BookingStatus from, BookingStatus to) {
+        String fromTag = Objects.isNull(from) ? NEW_BOOKING_STATUS : from.name();
+        meterRegistry.counter(STATUS_TRANSITIONS_COUNTER, "from", fromTag, "to", to.name()).increment();
+    }
+}
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.booking.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.AllArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -18,16 +19,21 @@ import ru.practicum.shareit.exception.ShareItElementNotFoundException;
 import ru.practicum.shareit.exception.UnsupportedStatusException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemAvailabilityCache;
+import ru.practicum.shareit.monitoring.FlightRecorded;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserExistenceCache;
 
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.function.BiFunction;
 
 @Service
+@Timed("shareit.service")
 @AllArgsConstructor
 public class BookingServiceImpl implements BookingService {
 
@@ -39,10 +45,14 @@ public class BookingServiceImpl implements BookingService {
     private final BookingRepository bookingRepository;
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
+    private final ItemAvailabilityCache availabilityCache;
+    private final UserExistenceCache userExistenceCache;
+    private final BookingMetrics bookingMetrics;
     private Map<SearchCondition, BiFunction<Long, Pageable, Page<Booking>>> conditions;
 
     @Override
     @Transactional
+    @FlightRecorded
     public BookingFullDto create(BookingInputDto bookingInputDto, Long userId) {
         User user = getUserIfExists(userId);
         Item item = getItemIfExists(bookingInputDto.getItemId());
@@ -54,7 +64,10 @@ public class BookingServiceImpl implements BookingService {
         }
         bookingInputDto.setStatus(BookingStatus.WAITING);
         Booking bookingFromDto = BookingMapper.toBooking(bookingInputDto, item, user);
-        return BookingMapper.toBookingFullDto(bookingRepository.save(bookingFromDto));
+        Booking created = bookingRepository.save(bookingFromDto);
+        availabilityCache.onBookingSaved(created);
+        bookingMetrics.countStatusTransition(null, created.getStatus());
+        return BookingMapper.toBookingFullDto(created);
     }
 
     @Override
@@ -68,16 +81,27 @@ public class BookingServiceImpl implements BookingService {
     }
 
     @Override
+    @FlightRecorded
     public List<BookingFullDto> findBookings(Long userId, String conditionName, String requester, int from, int size) {
-        getUserIfExists(userId);
         composeConditionsMapIfEmpty();
-        BiFunction<Long, Pageable, Page<Booking>> repositoryMethod = getRepositoryMethod(conditionName, requester);
-        Page<Booking> bookings = repositoryMethod.apply(userId, pageRequestOf(from, size));
+        Optional<SearchCondition> fullSearchCondition = SearchCondition.find(conditionName, requester);
+        if (fullSearchCondition.isEmpty()) {
+            checkUserExists(userId);
+            throw new UnsupportedStatusException(conditionName);
+        }
+        BiFunction<Long, Pageable, Page<Booking>> repositoryMethod = conditions.get(fullSearchCondition.get());
+        Page<Booking> bookings = bookingMetrics.timeSearch(fullSearchCondition.get(),
+                () -> repositoryMethod.apply(userId, pageRequestOf(from, size)));
+        // every found booking references the user as its booker or item owner
+        if (!bookings.hasContent()) {
+            checkUserExists(userId);
+        }
         return BookingMapper.toBookingDtoList(bookings);
     }
 
     @Override
     @Transactional
+    @FlightRecorded
     public BookingFullDto setStatus(Long userId, Long bookingId, boolean status) {
         Booking booking = getBookingIfExists(bookingId);
         Long itemId = booking.getItem().getId();
@@ -87,21 +111,12 @@ public class BookingServiceImpl implements BookingService {
         if (booking.getStatus() == BookingStatus.APPROVED) {
             throw new BookingIsAlreadyApprovedException(EXCEPTION_BOOKING_NOT_FOUND_INFO);
         }
+        BookingStatus previousStatus = booking.getStatus();
         booking.setStatus(BookingStatus.getApprovedOrRejected(status));
-        return BookingMapper.toBookingFullDto(bookingRepository.save(booking));
-    }
-
-    private SearchCondition getFullSearchCondition(String conditionName, String requester) {
-        final String fullCondition = (conditionName + requester).toUpperCase();
-        return Arrays.stream(SearchCondition.values())
-                .filter(c -> c.name().equals(fullCondition))
-                .findFirst()
-                .orElseThrow(() -> new UnsupportedStatusException(conditionName));
-    }
-
-    private BiFunction<Long, Pageable, Page<Booking>> getRepositoryMethod(String conditionName, String requester) {
-        SearchCondition fullSearchCondition = getFullSearchCondition(conditionName, requester);
-        return conditions.get(fullSearchCondition);
+        Booking updated = bookingRepository.save(booking);
+        availabilityCache.onBookingSaved(updated);
+        bookingMetrics.countStatusTransition(previousStatus, updated.getStatus());
+        return BookingMapper.toBookingFullDto(updated);
     }
 
     public enum SearchCondition {
@@ -116,7 +131,14 @@ public class BookingServiceImpl implements BookingService {
         PAST_FOR_OWNER,
         FUTURE_FOR_OWNER,
         WAITING_FOR_OWNER,
-        REJECTED_FOR_OWNER
+        REJECTED_FOR_OWNER;
+
+        public static Optional<SearchCondition> find(String conditionName, String requester) {
+            final String fullCondition = (conditionName + requester).toUpperCase();
+            return Arrays.stream(values())
+                    .filter(c -> c.name().equals(fullCondition))
+                    .findFirst();
+        }
     }
 
     private void composeConditionsMapIfEmpty() {
@@ -148,6 +170,12 @@ public class BookingServiceImpl implements BookingService {
                 .orElseThrow(() -> new ShareItElementNotFoundException(EXCEPTION_ITEM_NOT_FOUND_INFO));
     }
 
+    private void checkUserExists(Long userId) {
+        if (!userExistenceCache.exists(userId)) {
+            throw new ShareItElementNotFoundException(EXCEPTION_USER_NOT_FOUND_INFO);
+        }
+    }
+
     private User getUserIfExists(Long userId) {
         return userRepository.findById(userId)
                 .orElseThrow(() -> new ShareItElementNotFoundException(EXCEPTION_USER_NOT_FOUND_INFO));
@@ -0,0 +1,39 @@
+package ru.practicum.shareit.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.handler.MappedInterceptor;
+import ru.practicum.shareit.overload.AdaptiveConcurrencyLimiter;
+import ru.practicum.shareit.overload.ConcurrencyLimitInterceptor;
+
+@Configuration
+@ConditionalOnProperty(name = "shareit.concurrency-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class ConcurrencyLimitConfig {
+
+    @Bean
+    public AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter(
+            @Value("${shareit.concurrency-limit.initial-limit:20}") int initialLimit,
+            @Value("${shareit.concurrency-limit.min-limit:4}") int minLimit,
+            @Value("${shareit.concurrency-limit.max-limit:200}") int maxLimit,
+            MeterRegistry meterRegistry) {
+        AdaptiveConcurrencyLimiter limiter =
+                new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit, System::nanoTime);
+        Gauge.builder("shareit.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .register(meterRegistry);
+        Gauge.builder("shareit.concurrency.in.flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .register(meterRegistry);
+        return limiter;
+    }
+
+    // actuator endpoints stay reachable when requests are shed
+    @Bean
+    public MappedInterceptor concurrencyLimitInterceptor(AdaptiveConcurrencyLimiter limiter,
+                                                         MeterRegistry meterRegistry) {
+        return new MappedInterceptor(null, new String[]{"/actuator/**"},
+                new ConcurrencyLimitInterceptor(limiter, meterRegistry.counter("shareit.concurrency.rejected")));
+    }
+}
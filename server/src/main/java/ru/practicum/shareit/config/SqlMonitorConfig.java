@@ -0,0 +1,57 @@
+package ru.practicum.shareit.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import ru.practicum.shareit.monitoring.ServiceEntryPointAspect;
+import ru.practicum.shareit.monitoring.SqlMonitor;
+import ru.practicum.shareit.monitoring.SqlMonitorEndpoint;
+import ru.practicum.shareit.monitoring.SqlMonitorFilter;
+
+import java.time.Duration;
+
+@Configuration
+@ConditionalOnProperty(name = "shareit.sql-monitor.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlMonitorConfig {
+
+    @Bean
+    public SqlMonitor sqlMonitor(@Value("${shareit.sql-monitor.slow-request:500ms}") Duration slowRequest,
+                                 @Value("${shareit.sql-monitor.max-statements:20}") int maxStatements,
+                                 @Value("${shareit.sql-monitor.max-repeats:5}") int maxRepeats) {
+        return new SqlMonitor(slowRequest, maxStatements, maxRepeats);
+    }
+
+    @Bean
+    public FilterRegistrationBean<SqlMonitorFilter> sqlMonitorFilter(SqlMonitor sqlMonitor) {
+        return new FilterRegistrationBean<>(new SqlMonitorFilter(sqlMonitor));
+    }
+
+    @Bean
+    public ServiceEntryPointAspect serviceEntryPointAspect(SqlMonitor sqlMonitor) {
+        return new ServiceEntryPointAspect(sqlMonitor);
+    }
+
+    @Bean
+    public SqlMonitorEndpoint sqlMonitorEndpoint(SqlMonitor sqlMonitor) {
+        return new SqlMonitorEndpoint(sqlMonitor);
+    }
+
+    @Bean
+    public static BeanPostProcessor sqlMonitorRepositoryListenerRegistrar(ObjectProvider<SqlMonitor> sqlMonitor) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport) {
+                    ((RepositoryFactoryBeanSupport<?, ?, ?>) bean).addRepositoryFactoryCustomizer(
+                            factory -> factory.addInvocationListener(sqlMonitor.getObject()));
+                }
+                return bean;
+            }
+        };
+    }
+}
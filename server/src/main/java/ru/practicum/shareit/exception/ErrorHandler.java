@@ -49,4 +49,40 @@ public class ErrorHandler {
         return new ErrorResponse("Request error: ", e.getMessage());
     }
 
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponse handle(final IncorrectPeriodException e) {
+        return new ErrorResponse("Request error: ", e.getMessage());
+    }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponse handle(final TooManyIdsException e) {
+        return new ErrorResponse("Request error: ", e.getMessage());
+    }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponse handle(final IncorrectIdsException e) {
+        return new ErrorResponse("Request error: ", e.getMessage());
+    }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponse handle(final TooManyUsersException e) {
+        return new ErrorResponse("Request error: ", e.getMessage());
+    }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ErrorResponse handle(final EmailAlreadyExistsException e) {
+        return new ErrorResponse("Conflict: ", e.getMessage());
+    }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ErrorResponse handle(final ServerOverloadedException e) {
+        return new ErrorResponse("Service unavailable: ", e.getMessage());
+    }
+
 }
@@ -0,0 +1,7 @@
+package ru.practicum.shareit.exception;
+
+public class IncorrectIdsException extends RuntimeException {
+    public IncorrectIdsException(String s) {
+        super(s);
+    }
+}
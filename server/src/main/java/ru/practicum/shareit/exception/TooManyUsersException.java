@@ -0,0 +1,7 @@
+package ru.practicum.shareit.exception;
+
+public class TooManyUsersException extends RuntimeException {
+    public TooManyUsersException(String s) {
+        super(s);
+    }
+}
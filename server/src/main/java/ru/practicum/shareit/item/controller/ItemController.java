@@ -1,10 +1,12 @@
 package ru.practicum.shareit.item.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.item.dto.*;
 import ru.practicum.shareit.item.service.ItemServiceImpl;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -34,6 +36,11 @@ public class ItemController {
         return itemService.findAll(userId, from, size);
     }
 
+    @GetMapping(params = "ids")
+    public List<ItemLookupDto> findAllByIds(@RequestParam List<Long> ids) {
+        return itemService.findAllByIds(ids);
+    }
+
     @PatchMapping(value = "/{itemId}")
     public ItemOutDto update(@RequestHeader(X_SHARER_USER_ID) long userId,
                              @PathVariable Long itemId,
@@ -43,9 +50,13 @@ public class ItemController {
 
     @GetMapping(value = "/search")
     public List<ItemOutDto> search(@RequestParam(value = "text", defaultValue = "", required = false) String searchBy,
+                                   @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                   LocalDateTime start,
+                                   @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                   LocalDateTime end,
                                    @RequestParam(required = false, defaultValue = "0") int from,
                                    @RequestParam(required = false, defaultValue = "10") int size) {
-        return itemService.search(searchBy, from, size);
+        return itemService.search(searchBy, start, end, from, size);
     }
 
     @PostMapping(value = "/{itemId}/comment")
@@ -55,4 +66,13 @@ public class ItemController {
         return itemService.addComment(comment, itemId, userId);
     }
 
+    @GetMapping(value = "/{itemId}/availability")
+    public ItemAvailabilityDto getAvailability(@PathVariable Long itemId,
+                                               @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                               LocalDateTime from,
+                                               @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                               LocalDateTime to) {
+        return itemService.getAvailability(itemId, from, to);
+    }
+
 }
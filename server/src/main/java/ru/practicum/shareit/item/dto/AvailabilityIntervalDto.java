@@ -9,17 +9,14 @@ import lombok.Setter;
 
 import java.time.LocalDateTime;
 
-@Setter
 @Getter
+@Setter
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder(toBuilder = true)
 @EqualsAndHashCode
-public class CommentFullDto {
+public class AvailabilityIntervalDto {
 
-    private Long id;
-    private String text;
-    private Long itemId;
-    private String authorName;
-    private LocalDateTime created;
-}
\ No newline at end of file
+    private LocalDateTime start;
+    private LocalDateTime end;
+}
@@ -13,12 +13,9 @@ import lombok.Setter;
 @NoArgsConstructor
 @Builder(toBuilder = true)
 @EqualsAndHashCode
-public class ItemInRequestDto {
+public class ItemLookupDto {
 
     private Long id;
-    private String name;
-    private String description;
-    private Boolean available;
-    private Long requestId;
-
+    private boolean found;
+    private ItemOutDto item;
 }
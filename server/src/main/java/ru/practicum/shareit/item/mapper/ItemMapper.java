@@ -1,16 +1,24 @@
 package ru.practicum.shareit.item.mapper;
 
+import ru.practicum.shareit.item.dto.AvailabilityIntervalDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemFullDto;
 import ru.practicum.shareit.item.dto.ItemInRequestDto;
 import ru.practicum.shareit.item.dto.ItemInputDto;
+import ru.practicum.shareit.item.dto.ItemLookupDto;
 import ru.practicum.shareit.item.dto.ItemOutDto;
 import ru.practicum.shareit.item.model.Item;
 import org.springframework.data.domain.Page;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.model.User;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 public class ItemMapper {
@@ -63,6 +71,17 @@ public class ItemMapper {
         return pageOfItems.getContent().stream().map(ItemMapper::toItemOutDto).collect(Collectors.toList());
     }
 
+    // in the order of the requested ids, with a marker for every id that has no item
+    public static List<ItemLookupDto> toItemLookupDtoList(List<Long> itemIds, List<Item> items) {
+        Map<Long, Item> itemsById = items.stream().collect(Collectors.toMap(Item::getId, Function.identity()));
+        return itemIds.stream()
+                .map(itemId -> {
+                    Item item = itemsById.get(itemId);
+                    return new ItemLookupDto(itemId, item != null, item != null ? toItemOutDto(item) : null);
+                })
+                .collect(Collectors.toList());
+    }
+
     public static ItemInRequestDto toItemResponseInRequest(Item item) {
         return ItemInRequestDto.builder()
                 .id(item.getId())
@@ -76,4 +95,54 @@ public class ItemMapper {
     public static List<ItemInRequestDto> toItemResponseInRequestDtoList(List<Item> items) {
         return items.stream().map(ItemMapper::toItemResponseInRequest).collect(Collectors.toList());
     }
+
+    public static ItemAvailabilityDto toItemAvailabilityDto(Long itemId,
+                                                            LocalDateTime from,
+                                                            LocalDateTime to,
+                                                            List<AvailabilityIntervalDto> bookedIntervals) {
+        List<AvailabilityIntervalDto> busy = mergeIntervals(from, to, bookedIntervals);
+        List<AvailabilityIntervalDto> free = new ArrayList<>();
+        LocalDateTime freeStart = from;
+        for (AvailabilityIntervalDto interval : busy) {
+            if (freeStart.isBefore(interval.getStart())) {
+                free.add(new AvailabilityIntervalDto(freeStart, interval.getStart()));
+            }
+            freeStart = interval.getEnd();
+        }
+        if (freeStart.isBefore(to)) {
+            free.add(new AvailabilityIntervalDto(freeStart, to));
+        }
+        return ItemAvailabilityDto.builder()
+                .itemId(itemId)
+                .from(from)
+                .to(to)
+                .busy(busy)
+                .free(free)
+                .build();
+    }
+
+    private static List<AvailabilityIntervalDto> mergeIntervals(LocalDateTime from,
+                                                                LocalDateTime to,
+                                                                List<AvailabilityIntervalDto> intervals) {
+        List<AvailabilityIntervalDto> sorted = new ArrayList<>(intervals);
+        sorted.sort(Comparator.comparing(AvailabilityIntervalDto::getStart));
+        List<AvailabilityIntervalDto> merged = new ArrayList<>();
+        AvailabilityIntervalDto current = null;
+        for (AvailabilityIntervalDto interval : sorted) {
+            LocalDateTime start = interval.getStart().isBefore(from) ? from : interval.getStart();
+            LocalDateTime end = interval.getEnd().isAfter(to) ? to : interval.getEnd();
+            if (!start.isBefore(end)) {
+                continue;
+            }
+            if (current != null && !start.isAfter(current.getEnd())) {
+                if (end.isAfter(current.getEnd())) {
+                    current.setEnd(end);
+                }
+            } else {
+                current = new AvailabilityIntervalDto(start, end);
+                merged.add(current);
+            }
+        }
+        return merged;
+    }
 }
@@ -6,6 +6,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
@@ -15,6 +16,17 @@ public interface ItemRepository extends JpaRepository<Item, Long> {
             " and i.available = true")
     Page<Item> search(String searchBy, Pageable pageable);
 
+    @Query(" select i from items i " +
+            " where (upper(i.name) like upper(concat('%', ?1, '%')) " +
+            " or upper(i.description) like upper(concat('%', ?1, '%'))) " +
+            " and i.available = true " +
+            " and not exists (select b.id from bookings b " +
+            " where b.item = i " +
+            " and b.status = ru.practicum.shareit.booking.model.BookingStatus.APPROVED " +
+            " and b.start < ?3 and b.end > ?2) " +
+            " order by i.id asc")
+    Page<Item> searchAvailableInPeriod(String searchBy, LocalDateTime start, LocalDateTime end, Pageable pageable);
+
     Page<Item> findAllByOwnerIdOrderByIdAsc(Long userId, Pageable pageable);
 
     List<Item> findAllByRequestId(Long requestId);
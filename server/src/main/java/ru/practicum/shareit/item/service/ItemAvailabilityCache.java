@@ -0,0 +1,200 @@
+package ru.practicum.shareit.item.service;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.dto.AvailabilityIntervalDto;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+// bookings are loaded per item and then kept up to date booking by booking. Every update gets a stamp, and a load
+// stamped before the last update of its item is dropped: its query may have run before that booking was committed
+@Component
+public class ItemAvailabilityCache {
+
+    private static final int MAX_CACHED_ITEMS = 1024;
+    private static final int MAX_TRACKED_UPDATES = 4 * MAX_CACHED_ITEMS;
+    // bounds the damage of an update that went missing some other way, e.g. a booking changed directly in the database
+    private static final Duration TTL = Duration.ofMinutes(10);
+
+    private final LongSupplier nanoClock;
+    private final Map<Long, ItemIntervals> items = Collections.synchronizedMap(
+            new LinkedHashMap<Long, ItemIntervals>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, ItemIntervals> eldest) {
+                    return size() > MAX_CACHED_ITEMS;
+                }
+            });
+    // stamp of the last update per item, guarded by this
+    private final Map<Long, Long> lastUpdates = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Long> eldest) {
+            if (size() <= MAX_TRACKED_UPDATES) {
+                return false;
+            }
+            // the item's update is forgotten, so no load stamped before it may be accepted for any item
+            acceptedFrom = Math.max(acceptedFrom, eldest.getValue());
+            return true;
+        }
+    };
+    private long updates;
+    private long acceptedFrom;
+
+    public ItemAvailabilityCache() {
+        this(System::nanoTime);
+    }
+
+    ItemAvailabilityCache(LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+    }
+
+    public Optional<List<AvailabilityIntervalDto>> find(Long itemId, LocalDateTime from, LocalDateTime to) {
+        ItemIntervals intervals = items.get(itemId);
+        if (intervals == null || !intervals.covers(from, to)) {
+            return Optional.empty();
+        }
+        if (nanoClock.getAsLong() - intervals.loadedAt >= TTL.toNanos()) {
+            items.remove(itemId, intervals);
+            return Optional.empty();
+        }
+        return Optional.of(intervals.overlapping(from, to));
+    }
+
+    // taken before the bookings of a load are queried
+    public synchronized long stamp() {
+        return updates;
+    }
+
+    public synchronized void load(Long itemId,
+                                  long stamp,
+                                  LocalDateTime loadedFrom,
+                                  LocalDateTime loadedTo,
+                                  List<Booking> bookings) {
+        Long lastUpdate = lastUpdates.get(itemId);
+        if (stamp < acceptedFrom || (lastUpdate != null && lastUpdate > stamp)) {
+            return;
+        }
+        ItemIntervals intervals = new ItemIntervals(loadedFrom, loadedTo, nanoClock.getAsLong());
+        bookings.forEach(booking -> intervals.put(Interval.of(booking)));
+        items.put(itemId, intervals);
+    }
+
+    // for changes not made booking by booking, e.g. all bookings of a deleted user
+    public synchronized void clear() {
+        items.clear();
+        lastUpdates.clear();
+        acceptedFrom = ++updates;
+    }
+
+    public void onBookingSaved(Booking booking) {
+        Long itemId = booking.getItem().getId();
+        Interval interval = Interval.of(booking);
+        boolean occupying = booking.getStatus().isOccupyingItem();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(itemId, interval, occupying);
+                }
+            });
+        } else {
+            apply(itemId, interval, occupying);
+        }
+    }
+
+    private synchronized void apply(Long itemId, Interval interval, boolean occupying) {
+        lastUpdates.put(itemId, ++updates);
+        ItemIntervals intervals = items.get(itemId);
+        if (intervals == null) {
+            return;
+        }
+        if (occupying) {
+            intervals.put(interval);
+        } else {
+            intervals.remove(interval.bookingId);
+        }
+    }
+
+    private static final class Interval {
+        private final Long bookingId;
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+
+        private Interval(Long bookingId, LocalDateTime start, LocalDateTime end) {
+            this.bookingId = bookingId;
+            this.start = start;
+            this.end = end;
+        }
+
+        private static Interval of(Booking booking) {
+            return new Interval(booking.getId(), booking.getStart(), booking.getEnd());
+        }
+
+        private static Interval probe(LocalDateTime start) {
+            return new Interval(Long.MIN_VALUE, start, start);
+        }
+    }
+
+    private static final class ItemIntervals {
+        private static final Comparator<Interval> BY_START = Comparator
+                .comparing((Interval interval) -> interval.start)
+                .thenComparing(interval -> interval.bookingId);
+
+        private final LocalDateTime loadedFrom;
+        private final LocalDateTime loadedTo;
+        private final long loadedAt;
+        private final NavigableSet<Interval> byStart = new TreeSet<>(BY_START);
+        private final Map<Long, Interval> byBookingId = new HashMap<>();
+        private Duration longest = Duration.ZERO;
+
+        private ItemIntervals(LocalDateTime loadedFrom, LocalDateTime loadedTo, long loadedAt) {
+            this.loadedFrom = loadedFrom;
+            this.loadedTo = loadedTo;
+            this.loadedAt = loadedAt;
+        }
+
+        private boolean covers(LocalDateTime from, LocalDateTime to) {
+            return !from.isBefore(loadedFrom) && !to.isAfter(loadedTo);
+        }
+
+        private synchronized void put(Interval interval) {
+            remove(interval.bookingId);
+            byStart.add(interval);
+            byBookingId.put(interval.bookingId, interval);
+            Duration length = Duration.between(interval.start, interval.end);
+            if (length.compareTo(longest) > 0) {
+                longest = length;
+            }
+        }
+
+        private synchronized void remove(Long bookingId) {
+            Interval removed = byBookingId.remove(bookingId);
+            if (removed != null) {
+                byStart.remove(removed);
+            }
+        }
+
+        // no interval longer than the longest one can start earlier than (from - longest) and still reach from
+        private synchronized List<AvailabilityIntervalDto> overlapping(LocalDateTime from, LocalDateTime to) {
+            Interval lower = Interval.probe(from.minus(longest));
+            Interval upper = Interval.probe(to);
+            return byStart.subSet(lower, true, upper, false).stream()
+                    .filter(interval -> interval.end.isAfter(from))
+                    .map(interval -> new AvailabilityIntervalDto(interval.start, interval.end))
+                    .collect(Collectors.toList());
+        }
+    }
+}
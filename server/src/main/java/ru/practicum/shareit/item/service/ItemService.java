@@ -2,10 +2,13 @@ package ru.practicum.shareit.item.service;
 
 import ru.practicum.shareit.item.dto.CommentFullDto;
 import ru.practicum.shareit.item.dto.CommentInputDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemFullDto;
 import ru.practicum.shareit.item.dto.ItemInputDto;
+import ru.practicum.shareit.item.dto.ItemLookupDto;
 import ru.practicum.shareit.item.dto.ItemOutDto;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemService {
@@ -16,9 +19,13 @@ public interface ItemService {
 
     List<ItemFullDto> findAll(Long userId, int from, int size);
 
+    List<ItemLookupDto> findAllByIds(List<Long> itemIds);
+
     ItemOutDto update(ItemInputDto itemInputDto, Long userId, Long itemId);
 
-    List<ItemOutDto> search(String searchBy, int from, int size);
+    List<ItemOutDto> search(String searchBy, LocalDateTime start, LocalDateTime end, int from, int size);
 
     CommentFullDto addComment(CommentInputDto comment, Long itemId, Long userId);
+
+    ItemAvailabilityDto getAvailability(Long itemId, LocalDateTime from, LocalDateTime to);
 }
@@ -5,12 +5,18 @@ import ru.practicum.shareit.booking.model.BookingMapper;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.exception.AccessForbiddenException;
+import ru.practicum.shareit.exception.IncorrectIdsException;
+import ru.practicum.shareit.exception.IncorrectPeriodException;
 import ru.practicum.shareit.exception.NoUserBookingAvailableToComment;
 import ru.practicum.shareit.exception.ShareItElementNotFoundException;
+import ru.practicum.shareit.exception.TooManyIdsException;
 import ru.practicum.shareit.item.dto.CommentFullDto;
 import ru.practicum.shareit.item.dto.CommentInputDto;
+import ru.practicum.shareit.item.dto.AvailabilityIntervalDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemFullDto;
 import ru.practicum.shareit.item.dto.ItemInputDto;
+import ru.practicum.shareit.item.dto.ItemLookupDto;
 import ru.practicum.shareit.item.dto.ItemOutDto;
 import ru.practicum.shareit.item.mapper.CommentMapper;
 import ru.practicum.shareit.item.mapper.ItemMapper;
@@ -18,6 +24,8 @@ import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.monitoring.FlightRecorded;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -29,14 +37,18 @@ import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserExistenceCache;
 
 import java.time.LocalDateTime;
+import java.time.Period;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
+@Timed("shareit.service")
 @RequiredArgsConstructor
 public class ItemServiceImpl implements ItemService {
 
@@ -45,12 +57,19 @@ public class ItemServiceImpl implements ItemService {
     private static final String EXCEPTION_ACCESS_FORBIDDEN_INFO = "Only owner can change the item.";
     private static final String EXCEPTION_BOOKING_NOT_FOUND_INFO = "No booking to comment.";
     private static final String EXCEPTION_REQUEST_NOT_FOUND_INFO = "Request not found";
+    private static final String EXCEPTION_INCORRECT_PERIOD_INFO = "Period start should be before its end.";
+    private static final String EXCEPTION_EMPTY_ID_INFO = "Every requested id must be a number.";
+    private static final String EXCEPTION_TOO_MANY_IDS_INFO = "At most %d items can be requested at once.";
+    private static final int MAX_LOOKUP_IDS = 100;
+    private static final Period AVAILABILITY_LOAD_PERIOD = Period.ofMonths(3);
 
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
     private final BookingRepository bookingRepository;
     private final CommentRepository commentRepository;
     private final ItemRequestRepository requestRepository;
+    private final ItemAvailabilityCache availabilityCache;
+    private final UserExistenceCache userExistenceCache;
 
     @Override
     @Transactional
@@ -65,6 +84,7 @@ public class ItemServiceImpl implements ItemService {
     }
 
     @Override
+    @FlightRecorded
     public ItemFullDto getById(Long userId, Long itemId) {
         Item item = getItemIfExists(itemId);
         ItemFullDto itemFullDto = ItemMapper.toItemFullDto(item);
@@ -79,6 +99,7 @@ public class ItemServiceImpl implements ItemService {
     }
 
     @Override
+    @FlightRecorded
     public List<ItemFullDto> findAll(Long userId, int from, int size) {
         Page<Item> itemPages = itemRepository.findAllByOwnerIdOrderByIdAsc(userId, pageRequestOf(from, size));
         return itemPages.stream()
@@ -88,12 +109,25 @@ public class ItemServiceImpl implements ItemService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @FlightRecorded
+    public List<ItemLookupDto> findAllByIds(List<Long> itemIds) {
+        if (itemIds.size() > MAX_LOOKUP_IDS) {
+            throw new TooManyIdsException(String.format(EXCEPTION_TOO_MANY_IDS_INFO, MAX_LOOKUP_IDS));
+        }
+        // ids=1,,2 binds an empty id as null
+        if (itemIds.stream().anyMatch(Objects::isNull)) {
+            throw new IncorrectIdsException(EXCEPTION_EMPTY_ID_INFO);
+        }
+        return ItemMapper.toItemLookupDtoList(itemIds, itemRepository.findAllById(new LinkedHashSet<>(itemIds)));
+    }
+
     @Override
     @Transactional
     public ItemOutDto update(ItemInputDto itemInputDto, Long userId, Long itemId) {
         Item item = getItemIfExists(itemId);
-        getUserIfExists(userId);
         if (!Objects.equals(item.getOwner().getId(), userId)) {
+            checkUserExists(userId);
             throw new AccessForbiddenException(EXCEPTION_ACCESS_FORBIDDEN_INFO);
         }
         ItemMapper.updateItemWithItemDto(item, itemInputDto);
@@ -101,13 +135,23 @@ public class ItemServiceImpl implements ItemService {
     }
 
     @Override
-    public List<ItemOutDto> search(String searchBy, int from, int size) {
+    @FlightRecorded
+    public List<ItemOutDto> search(String searchBy, LocalDateTime start, LocalDateTime end, int from, int size) {
+        if (Objects.isNull(start) != Objects.isNull(end)) {
+            throw new IncorrectPeriodException(EXCEPTION_INCORRECT_PERIOD_INFO);
+        }
+        if (Objects.nonNull(start) && !start.isBefore(end)) {
+            throw new IncorrectPeriodException(EXCEPTION_INCORRECT_PERIOD_INFO);
+        }
         if (searchBy.isBlank()) {
             return List.of();
         }
         int page = from / size;
         Pageable pageable = PageRequest.of(page, size);
-        return ItemMapper.toItemDtoList(itemRepository.search(searchBy, pageable));
+        if (Objects.isNull(start)) {
+            return ItemMapper.toItemDtoList(itemRepository.search(searchBy, pageable));
+        }
+        return ItemMapper.toItemDtoList(itemRepository.searchAvailableInPeriod(searchBy, start, end, pageable));
     }
 
     @Override
@@ -127,6 +171,34 @@ public class ItemServiceImpl implements ItemService {
         }
     }
 
+    @Override
+    public ItemAvailabilityDto getAvailability(Long itemId, LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new IncorrectPeriodException(EXCEPTION_INCORRECT_PERIOD_INFO);
+        }
+        List<AvailabilityIntervalDto> bookedIntervals = availabilityCache.find(itemId, from, to)
+                .orElseGet(() -> loadBookedIntervals(itemId, from, to));
+        return ItemMapper.toItemAvailabilityDto(itemId, from, to, bookedIntervals);
+    }
+
+    private List<AvailabilityIntervalDto> loadBookedIntervals(Long itemId, LocalDateTime from, LocalDateTime to) {
+        if (!itemRepository.existsById(itemId)) {
+            throw new ShareItElementNotFoundException(EXCEPTION_ITEM_NOT_FOUND_INFO);
+        }
+        LocalDateTime loadTo = from.plus(AVAILABILITY_LOAD_PERIOD);
+        if (loadTo.isBefore(to)) {
+            loadTo = to;
+        }
+        long stamp = availabilityCache.stamp();
+        List<Booking> bookings = bookingRepository
+                .findItemBookingsInPeriod(itemId, BookingStatus.getOccupyingItem(), from, loadTo);
+        availabilityCache.load(itemId, stamp, from, loadTo, bookings);
+        return bookings.stream()
+                .filter(booking -> booking.getStart().isBefore(to))
+                .map(booking -> new AvailabilityIntervalDto(booking.getStart(), booking.getEnd()))
+                .collect(Collectors.toList());
+    }
+
     private ItemFullDto completeItemDtoWithBookingsInfo(ItemFullDto itemFullDto) {
         Long itemId = itemFullDto.getId();
         LocalDateTime now = LocalDateTime.now();
@@ -152,6 +224,12 @@ public class ItemServiceImpl implements ItemService {
                 .orElseThrow(() -> new ShareItElementNotFoundException(EXCEPTION_ITEM_NOT_FOUND_INFO));
     }
 
+    private void checkUserExists(Long userId) {
+        if (!userExistenceCache.exists(userId)) {
+            throw new ShareItElementNotFoundException(EXCEPTION_USER_NOT_FOUND_INFO);
+        }
+    }
+
     private User getUserIfExists(Long userId) {
         return userRepository.findById(userId)
                 .orElseThrow(() -> new ShareItElementNotFoundException(EXCEPTION_USER_NOT_FOUND_INFO));
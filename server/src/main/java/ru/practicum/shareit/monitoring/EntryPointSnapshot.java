@@ -0,0 +1,18 @@
+package ru.practicum.shareit.monitoring;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Map;
+
+@Getter
+@AllArgsConstructor
+public class EntryPointSnapshot {
+
+    private long requests;
+    private long slowRequests;
+    private double averageStatements;
+    private long maxStatements;
+    private long statementMillis;
+    private Map<String, Long> repeatedStatements;
+}
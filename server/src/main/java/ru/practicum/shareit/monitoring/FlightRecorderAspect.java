@@ -0,0 +1,75 @@
+package ru.practicum.shareit.monitoring;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Aspect
+public class FlightRecorderAspect {
+
+    private static final String USER_ID_PARAMETER = "userId";
+    private static final String OUTCOME_OK = "OK";
+    private static final int NO_USER_ID = -1;
+
+    private final ParameterNameDiscoverer parameterNameDiscoverer = new DefaultParameterNameDiscoverer();
+    private final Map<Method, Integer> userIdPositions = new ConcurrentHashMap<>();
+
+    @Around("@annotation(ru.practicum.shareit.monitoring.FlightRecorded)")
+    public Object record(ProceedingJoinPoint joinPoint) throws Throwable {
+        ServiceOperationEvent event = new ServiceOperationEvent();
+        // no recording is running, skip the bookkeeping
+        if (!event.isEnabled()) {
+            return joinPoint.proceed();
+        }
+        event.begin();
+        String outcome = OUTCOME_OK;
+        Object result = null;
+        try {
+            result = joinPoint.proceed();
+            return result;
+        } catch (Throwable e) {
+            outcome = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+                event.operation = joinPoint.getTarget().getClass().getSimpleName() + "." + method.getName();
+                event.userId = userIdOf(method, joinPoint.getArgs());
+                event.rows = rowsOf(result);
+                event.outcome = outcome;
+                event.commit();
+            }
+        }
+    }
+
+    private long userIdOf(Method method, Object[] args) {
+        int position = userIdPositions.computeIfAbsent(method, this::findUserIdPosition);
+        if (position == NO_USER_ID || !(args[position] instanceof Long)) {
+            return NO_USER_ID;
+        }
+        return (Long) args[position];
+    }
+
+    private int findUserIdPosition(Method method) {
+        String[] names = parameterNameDiscoverer.getParameterNames(method);
+        return Objects.isNull(names) ? NO_USER_ID : Arrays.asList(names).indexOf(USER_ID_PARAMETER);
+    }
+
+    private static int rowsOf(Object result) {
+        if (result instanceof Collection) {
+            return ((Collection<?>) result).size();
+        }
+        return Objects.isNull(result) ? 0 : 1;
+    }
+}
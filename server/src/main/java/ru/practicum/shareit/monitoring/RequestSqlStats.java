@@ -0,0 +1,63 @@
+package ru.practicum.shareit.monitoring;
+
+import java.util.HashMap;
+import java.util.Map;
+
+class RequestSqlStats {
+
+    private final String request;
+    private final long startedAt = System.nanoTime();
+    private final Map<String, Integer> statementCounts = new HashMap<>();
+    private final Map<String, Integer> repositoryCalls = new HashMap<>();
+    private String entryPoint;
+    private int statements;
+    private long statementNanos;
+
+    RequestSqlStats(String request) {
+        this.request = request;
+    }
+
+    void serviceEntered(String method) {
+        if (entryPoint == null) {
+            entryPoint = method;
+        }
+    }
+
+    void statementExecuted(String fingerprint, long nanos) {
+        statements++;
+        statementNanos += nanos;
+        statementCounts.merge(fingerprint, 1, Integer::sum);
+    }
+
+    void repositoryInvoked(String method) {
+        repositoryCalls.merge(method, 1, Integer::sum);
+    }
+
+    String getRequest() {
+        return request;
+    }
+
+    String getEntryPoint() {
+        return entryPoint;
+    }
+
+    int getStatements() {
+        return statements;
+    }
+
+    long getStatementNanos() {
+        return statementNanos;
+    }
+
+    long getElapsedNanos() {
+        return System.nanoTime() - startedAt;
+    }
+
+    Map<String, Integer> getStatementCounts() {
+        return statementCounts;
+    }
+
+    Map<String, Integer> getRepositoryCalls() {
+        return repositoryCalls;
+    }
+}
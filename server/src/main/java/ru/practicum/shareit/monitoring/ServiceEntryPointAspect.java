@@ -0,0 +1,19 @@
+package ru.practicum.shareit.monitoring;
+
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Before;
+
+@Aspect
+@RequiredArgsConstructor
+public class ServiceEntryPointAspect {
+
+    private final SqlMonitor sqlMonitor;
+
+    @Before("execution(public * ru.practicum.shareit..service.*ServiceImpl.*(..))")
+    public void serviceEntered(JoinPoint joinPoint) {
+        sqlMonitor.serviceEntered(joinPoint.getSignature().getDeclaringType().getSimpleName()
+                + "." + joinPoint.getSignature().getName());
+    }
+}
@@ -0,0 +1,30 @@
+package ru.practicum.shareit.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("ru.practicum.shareit.ServiceOperation")
+@Label("Service Operation")
+@Category({"ShareIt", "Server"})
+@Description("Invocation of a service method marked with @FlightRecorded")
+@StackTrace(false)
+class ServiceOperationEvent extends Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("User Id")
+    long userId;
+
+    @Label("Rows")
+    @Description("Size of the returned list, 1 for a single result")
+    int rows;
+
+    @Label("Outcome")
+    @Description("OK or the simple name of the thrown exception")
+    String outcome;
+}
@@ -0,0 +1,165 @@
+package ru.practicum.shareit.monitoring;
+
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.springframework.data.repository.core.support.RepositoryMethodInvocationListener;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+@Slf4j
+public class SqlMonitor implements QueryExecutionListener, RepositoryMethodInvocationListener {
+
+    private static final Pattern LITERALS = Pattern.compile("'[^']*'|\\b\\d+\\b");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final int MAX_FINGERPRINT_LENGTH = 160;
+
+    private final ThreadLocal<RequestSqlStats> current = new ThreadLocal<>();
+    private final Map<String, EntryPointStats> entryPoints = new ConcurrentHashMap<>();
+    private final long slowRequestNanos;
+    private final int maxStatements;
+    private final int maxRepeats;
+
+    public SqlMonitor(Duration slowRequest, int maxStatements, int maxRepeats) {
+        this.slowRequestNanos = slowRequest.toNanos();
+        this.maxStatements = maxStatements;
+        this.maxRepeats = maxRepeats;
+    }
+
+    public void requestStarted(String request) {
+        current.set(new RequestSqlStats(request));
+    }
+
+    public void serviceEntered(String method) {
+        RequestSqlStats stats = current.get();
+        if (Objects.nonNull(stats)) {
+            stats.serviceEntered(method);
+        }
+    }
+
+    // the route names requests that never reached a service, the raw URI would grow the statistics without bound
+    public void requestFinished(String route) {
+        RequestSqlStats stats = current.get();
+        current.remove();
+        if (Objects.isNull(stats)) {
+            return;
+        }
+        String entryPoint = Objects.requireNonNullElse(stats.getEntryPoint(), route);
+        long elapsedNanos = stats.getElapsedNanos();
+        Map<String, Integer> repeated = repeated(stats);
+        boolean slow = elapsedNanos >= slowRequestNanos;
+        entryPoints.computeIfAbsent(entryPoint, key -> new EntryPointStats())
+                .add(stats, slow, repeated.keySet());
+        if (slow || stats.getStatements() > maxStatements || !repeated.isEmpty()) {
+            log.warn("{}: {} statements in {} ms ({} ms in SQL), in {}{}",
+                    stats.getRequest(),
+                    stats.getStatements(),
+                    TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                    TimeUnit.NANOSECONDS.toMillis(stats.getStatementNanos()),
+                    entryPoint,
+                    repeated.entrySet().stream()
+                            .map(entry -> "\n    " + entry.getKey() + " x " + entry.getValue())
+                            .collect(Collectors.joining()));
+        }
+    }
+
+    public Map<String, EntryPointSnapshot> snapshot() {
+        Map<String, EntryPointSnapshot> snapshot = new TreeMap<>();
+        entryPoints.forEach((entryPoint, stats) -> snapshot.put(entryPoint, stats.snapshot()));
+        return snapshot;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        RequestSqlStats stats = current.get();
+        if (Objects.isNull(stats) || queryInfoList.isEmpty()) {
+            return;
+        }
+        long nanos = TimeUnit.MILLISECONDS.toNanos(execInfo.getElapsedTime()) / queryInfoList.size();
+        for (QueryInfo queryInfo : queryInfoList) {
+            stats.statementExecuted(fingerprint(queryInfo.getQuery()), nanos);
+        }
+    }
+
+    @Override
+    public void afterInvocation(RepositoryMethodInvocation invocation) {
+        RequestSqlStats stats = current.get();
+        if (Objects.nonNull(stats)) {
+            stats.repositoryInvoked(invocation.getRepositoryInterface().getSimpleName()
+                    + "." + invocation.getMethod().getName());
+        }
+    }
+
+    // repository calls name the N+1 source; statements also catch lazy loading outside repositories
+    private Map<String, Integer> repeated(RequestSqlStats stats) {
+        Map<String, Integer> repeated = new TreeMap<>();
+        stats.getRepositoryCalls().forEach((method, count) -> {
+            if (count > maxRepeats) {
+                repeated.put(method, count);
+            }
+        });
+        stats.getStatementCounts().forEach((statement, count) -> {
+            if (count > maxRepeats) {
+                repeated.put(statement, count);
+            }
+        });
+        return repeated;
+    }
+
+    static String fingerprint(String sql) {
+        String normalized = WHITESPACE.matcher(LITERALS.matcher(sql).replaceAll("?")).replaceAll(" ").trim();
+        return normalized.length() > MAX_FINGERPRINT_LENGTH
+                ? normalized.substring(0, MAX_FINGERPRINT_LENGTH) + "..."
+                : normalized;
+    }
+
+    private static class EntryPointStats {
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder slowRequests = new LongAdder();
+        private final LongAdder statements = new LongAdder();
+        private final LongAdder statementNanos = new LongAdder();
+        private final AtomicLong maxStatements = new AtomicLong();
+        private final Map<String, LongAdder> repeated = new ConcurrentHashMap<>();
+
+        private void add(RequestSqlStats stats, boolean slow, Iterable<String> repeatedFingerprints) {
+            requests.increment();
+            if (slow) {
+                slowRequests.increment();
+            }
+            statements.add(stats.getStatements());
+            statementNanos.add(stats.getStatementNanos());
+            maxStatements.accumulateAndGet(stats.getStatements(), Math::max);
+            repeatedFingerprints.forEach(fingerprint ->
+                    repeated.computeIfAbsent(fingerprint, key -> new LongAdder()).increment());
+        }
+
+        private EntryPointSnapshot snapshot() {
+            long requestCount = requests.sum();
+            Map<String, Long> repeatedCounts = new TreeMap<>();
+            repeated.forEach((fingerprint, count) -> repeatedCounts.put(fingerprint, count.sum()));
+            return new EntryPointSnapshot(
+                    requestCount,
+                    slowRequests.sum(),
+                    requestCount == 0 ? 0 : (double) statements.sum() / requestCount,
+                    maxStatements.get(),
+                    TimeUnit.NANOSECONDS.toMillis(statementNanos.sum()),
+                    repeatedCounts
+            );
+        }
+    }
+}
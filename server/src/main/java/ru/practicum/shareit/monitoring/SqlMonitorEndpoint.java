@@ -0,0 +1,19 @@
+package ru.practicum.shareit.monitoring;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.Map;
+
+@Endpoint(id = "sqlmonitor")
+@RequiredArgsConstructor
+public class SqlMonitorEndpoint {
+
+    private final SqlMonitor sqlMonitor;
+
+    @ReadOperation
+    public Map<String, EntryPointSnapshot> entryPoints() {
+        return sqlMonitor.snapshot();
+    }
+}
@@ -0,0 +1,36 @@
+package ru.practicum.shareit.monitoring;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Objects;
+
+@RequiredArgsConstructor
+public class SqlMonitorFilter extends OncePerRequestFilter {
+
+    private static final String UNMATCHED_ROUTE = "unmatched";
+
+    private final SqlMonitor sqlMonitor;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        sqlMonitor.requestStarted(request.getMethod() + " " + request.getRequestURI());
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            sqlMonitor.requestFinished(routeOf(request));
+        }
+    }
+
+    private static String routeOf(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return Objects.isNull(pattern) ? UNMATCHED_ROUTE : request.getMethod() + " " + pattern;
+    }
+}
@@ -0,0 +1,41 @@
+package ru.practicum.shareit.overload;
+
+import io.micrometer.core.instrument.Counter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.servlet.HandlerInterceptor;
+import ru.practicum.shareit.exception.ServerOverloadedException;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.Objects;
+
+@RequiredArgsConstructor
+public class ConcurrencyLimitInterceptor implements HandlerInterceptor {
+
+    private static final String STARTED_AT_ATTRIBUTE = ConcurrencyLimitInterceptor.class.getName() + ".startedAt";
+    private static final String IN_FLIGHT_ATTRIBUTE = ConcurrencyLimitInterceptor.class.getName() + ".inFlight";
+    private static final String EXCEPTION_OVERLOADED_INFO = "Server is overloaded, try again later.";
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final Counter rejected;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        int inFlight = limiter.tryAcquire();
+        if (inFlight == 0) {
+            rejected.increment();
+            throw new ServerOverloadedException(EXCEPTION_OVERLOADED_INFO);
+        }
+        request.setAttribute(IN_FLIGHT_ATTRIBUTE, inFlight);
+        request.setAttribute(STARTED_AT_ATTRIBUTE, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object startedAt = request.getAttribute(STARTED_AT_ATTRIBUTE);
+        if (Objects.nonNull(startedAt)) {
+            limiter.release(System.nanoTime() - (Long) startedAt, (Integer) request.getAttribute(IN_FLIGHT_ATTRIBUTE));
+        }
+    }
+}
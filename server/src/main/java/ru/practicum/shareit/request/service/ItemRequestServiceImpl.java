@@ -4,6 +4,7 @@ import ru.practicum.shareit.exception.ShareItElementNotFoundException;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -18,11 +19,13 @@ import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserExistenceCache;
 
 import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
+@Timed("shareit.service")
 @RequiredArgsConstructor
 public class ItemRequestServiceImpl implements ItemRequestService {
 
@@ -33,6 +36,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     private final UserRepository userRepository;
     private final ItemRequestRepository requestRepository;
     private final ItemRepository itemRepository;
+    private final UserExistenceCache userExistenceCache;
 
     @Transactional
     @Override
@@ -44,7 +48,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
 
     @Override
     public List<RequestWithItemsDto> findAll(Long userId) {
-        getUserIfExists(userId);
+        checkUserExists(userId);
         List<ItemRequest> requests = requestRepository.findAllByRequesterId(userId, SORT);
         List<RequestWithItemsDto> requestsWithItems = ItemRequestMapper.toRequestWithItemsDtoList(requests);
         return complete(requestsWithItems);
@@ -52,7 +56,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
 
     @Override
     public List<RequestWithItemsDto> findAll(Long userId, int from, int size) {
-        getUserIfExists(userId);
+        checkUserExists(userId);
         Page<ItemRequest> requestPages = requestRepository.findAll(userId, pageRequestOf(from, size, SORT));
         List<RequestWithItemsDto> requestsWithItems = ItemRequestMapper.toRequestWithItemsDtoList(requestPages);
         return complete(requestsWithItems);
@@ -60,7 +64,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
 
     @Override
     public RequestWithItemsDto getById(Long userId, Long requestId) {
-        getUserIfExists(userId);
+        checkUserExists(userId);
         ItemRequest request = getItemRequestIfExists(requestId);
         RequestWithItemsDto requestWithItems = ItemRequestMapper.toRequestWithItemsDto(request);
         return complete(requestWithItems);
@@ -76,6 +80,12 @@ public class ItemRequestServiceImpl implements ItemRequestService {
                 .orElseThrow(() -> new ShareItElementNotFoundException(EXCEPTION_USER_NOT_FOUND_INFO));
     }
 
+    private void checkUserExists(Long userId) {
+        if (!userExistenceCache.exists(userId)) {
+            throw new ShareItElementNotFoundException(EXCEPTION_USER_NOT_FOUND_INFO);
+        }
+    }
+
     private RequestWithItemsDto complete(RequestWithItemsDto request) {
         Long requestId = request.getId();
         List<Item> items = itemRepository.findAllByRequestId(requestId);
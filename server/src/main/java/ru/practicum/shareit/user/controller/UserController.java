@@ -1,6 +1,11 @@
 package ru.practicum.shareit.user.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -8,10 +13,15 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.dto.UserLookupDto;
+import ru.practicum.shareit.user.dto.UserProvisionResultDto;
 import ru.practicum.shareit.user.service.UserServiceImpl;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
 import java.util.List;
 
 @RestController
@@ -20,7 +30,9 @@ import java.util.List;
 public class UserController {
 
     private static final int MIN_ID_VALUE = 1;
+    private static final int STREAM_PAGE_SIZE = 500;
     private final UserServiceImpl userService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     public UserDto create(@RequestBody UserDto userDto) {
@@ -32,9 +44,46 @@ public class UserController {
         return userService.getById(userId);
     }
 
+    // keyset pagination: the next page starts after the id of the last user of this one
+    @GetMapping(params = "size")
+    public List<UserDto> findPage(@RequestParam(required = false, defaultValue = "0") long afterId,
+                                  @RequestParam int size) {
+        return userService.findPage(afterId, size);
+    }
+
+    // all users as one JSON array, written page by page, so memory use is bounded by the page size
     @GetMapping
-    public List<UserDto> findAll() {
-        return userService.findAll();
+    public void findAll(HttpServletResponse response) throws IOException {
+        ObjectWriter userWriter = objectMapper.writerFor(UserDto.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+            generator.writeStartArray();
+            long afterId = 0;
+            List<UserDto> page;
+            do {
+                page = userService.findPage(afterId, STREAM_PAGE_SIZE);
+                for (UserDto user : page) {
+                    userWriter.writeValue(generator, user);
+                }
+                generator.flush();
+                if (!page.isEmpty()) {
+                    afterId = page.get(page.size() - 1).getId();
+                }
+            } while (page.size() == STREAM_PAGE_SIZE);
+            generator.writeEndArray();
+        }
+    }
+
+    @GetMapping(params = "ids")
+    public List<UserLookupDto> findAllByIds(@RequestParam List<Long> ids) {
+        return userService.findAllByIds(ids);
+    }
+
+    // creates the users with new emails and updates the ones with known emails, one result per row
+    @PostMapping(value = "/bulk")
+    public List<UserProvisionResultDto> provision(@RequestBody List<UserDto> userDtos) {
+        return userService.provision(userDtos);
     }
 
     @PatchMapping(value = "/{userId}")
@@ -1,22 +1,21 @@
-package ru.practicum.shareit.item.dto;
+package ru.practicum.shareit.user.dto;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Getter
 @Setter
 @AllArgsConstructor
+@NoArgsConstructor
 @Builder(toBuilder = true)
 @EqualsAndHashCode
-public class ItemOutDto {
+public class UserLookupDto {
 
     private Long id;
-    private String name;
-    private String description;
-    private Boolean available;
-    private Long owner;
-    private Long requestId;
+    private boolean found;
+    private UserDto user;
 }
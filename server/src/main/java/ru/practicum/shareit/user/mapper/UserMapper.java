@@ -1,10 +1,13 @@
 package ru.practicum.shareit.user.mapper;
 
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.dto.UserLookupDto;
 import ru.practicum.shareit.user.model.User;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 public class UserMapper {
@@ -36,4 +39,15 @@ public class UserMapper {
     public static List<UserDto> toUserDtoList(List<User> users) {
         return users.stream().map(UserMapper::toUserDto).collect(Collectors.toList());
     }
+
+    // in the order of the requested ids, with a marker for every id that has no user
+    public static List<UserLookupDto> toUserLookupDtoList(List<Long> userIds, List<User> users) {
+        Map<Long, User> usersById = users.stream().collect(Collectors.toMap(User::getId, Function.identity()));
+        return userIds.stream()
+                .map(userId -> {
+                    User user = usersById.get(userId);
+                    return new UserLookupDto(userId, user != null, user != null ? toUserDto(user) : null);
+                })
+                .collect(Collectors.toList());
+    }
 }
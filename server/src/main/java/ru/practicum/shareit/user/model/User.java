@@ -6,12 +6,19 @@ import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
+import javax.persistence.Cacheable;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.PrePersist;
+import javax.persistence.PreUpdate;
+import java.util.Locale;
+import java.util.Objects;
 
 @Getter
 @Setter
@@ -19,6 +26,8 @@ import javax.persistence.Id;
 @NoArgsConstructor
 @Builder(toBuilder = true)
 @Entity(name = "users")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
 @EqualsAndHashCode
 public class User {
     @Id
@@ -27,6 +36,20 @@ public class User {
     private Long id;
     @Column(name = "name")
     private String name;
-    @Column(name = "email", unique = true)
+    @Column(name = "email")
     private String email;
+    // trimmed and lower-cased email, unique, so addresses differing only in case belong to one user
+    @Column(name = "normalized_email", unique = true)
+    @EqualsAndHashCode.Exclude
+    private String normalizedEmail;
+
+    @PrePersist
+    @PreUpdate
+    void normalizeEmail() {
+        normalizedEmail = normalizeEmail(email);
+    }
+
+    public static String normalizeEmail(String email) {
+        return Objects.isNull(email) ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
 }
@@ -0,0 +1,18 @@
+package ru.practicum.shareit.user.repository;
+
+import ru.practicum.shareit.user.model.User;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+// batched JDBC writes for provisioning: identity ids keep Hibernate from batching inserts of users
+public interface UserBulkRepository {
+
+    Map<String, Long> findIdsByNormalizedEmails(Collection<String> normalizedEmails);
+
+    // the generated ids, in the order of the users
+    List<Long> insertAll(List<User> users);
+
+    void updateAll(List<User> users);
+}
@@ -0,0 +1,96 @@
+package ru.practicum.shareit.user.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.Cache;
+import javax.persistence.EntityManagerFactory;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@RequiredArgsConstructor
+public class UserBulkRepositoryImpl implements UserBulkRepository {
+
+    private static final String FIND_IDS =
+            "select id, normalized_email from users where normalized_email in (:emails)";
+    private static final String INSERT = "insert into users (name, email, normalized_email) values (?, ?, ?)";
+    private static final String UPDATE = "update users set name = ?, email = ?, normalized_email = ? where id = ?";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Override
+    public Map<String, Long> findIdsByNormalizedEmails(Collection<String> normalizedEmails) {
+        Map<String, Long> ids = new HashMap<>();
+        if (normalizedEmails.isEmpty()) {
+            return ids;
+        }
+        jdbcTemplate.query(FIND_IDS, Map.of("emails", normalizedEmails),
+                resultSet -> {
+                    ids.put(resultSet.getString(2), resultSet.getLong(1));
+                });
+        return ids;
+    }
+
+    @Override
+    public List<Long> insertAll(List<User> users) {
+        return jdbcTemplate.getJdbcTemplate().execute((ConnectionCallback<List<Long>>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT, new String[]{"id"})) {
+                for (User user : users) {
+                    statement.setString(1, user.getName());
+                    statement.setString(2, user.getEmail());
+                    statement.setString(3, User.normalizeEmail(user.getEmail()));
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+                List<Long> ids = new ArrayList<>(users.size());
+                try (ResultSet keys = statement.getGeneratedKeys()) {
+                    while (keys.next()) {
+                        ids.add(keys.getLong(1));
+                    }
+                }
+                return ids;
+            }
+        });
+    }
+
+    @Override
+    public void updateAll(List<User> users) {
+        jdbcTemplate.getJdbcTemplate().batchUpdate(UPDATE, users.stream()
+                .map(user -> new Object[]{
+                        user.getName(), user.getEmail(), User.normalizeEmail(user.getEmail()), user.getId()})
+                .collect(Collectors.toList()));
+        // the rows changed behind Hibernate's back, the second-level cache must not keep serving the old ones.
+        // Evicted again after the commit: a read until then still finds the old rows and caches them anew
+        evict(users);
+        afterCommit(() -> evict(users));
+    }
+
+    private void evict(List<User> users) {
+        Cache cache = entityManagerFactory.getCache();
+        users.forEach(user -> cache.evict(User.class, user.getId()));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
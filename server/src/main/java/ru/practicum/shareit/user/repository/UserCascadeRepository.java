@@ -0,0 +1,11 @@
+package ru.practicum.shareit.user.repository;
+
+// set-based deletion of a user together with the rows referencing them, in foreign key order
+public interface UserCascadeRepository {
+
+    // at most limit rows of the first kind still referencing the user; 0 once none are left
+    int deleteReferencingRows(long userId, int limit);
+
+    // all rows still referencing the user, then the user; false if there was no such user
+    boolean deleteWithReferencingRows(long userId);
+}
@@ -0,0 +1,87 @@
+package ru.practicum.shareit.user.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.Cache;
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@RequiredArgsConstructor
+public class UserCascadeRepositoryImpl implements UserCascadeRepository {
+
+    private static final String ITEMS_OF_USER = "select i.id from items i where i.owner_id = :userId";
+    private static final String REQUESTS_OF_USER = "select r.id from requests r where r.requester_id = :userId";
+    // comments and bookings of the user and of the user's items go first, then the items; items of other
+    // users answering the user's requests are kept and only lose the link, then the requests can go
+    private static final List<String> STATEMENTS = List.of(
+            "delete from comments where id in (select c.id from comments c " +
+                    "where c.author_id = :userId or c.item_id in (" + ITEMS_OF_USER + ")%s)",
+            "delete from bookings where id in (select b.id from bookings b " +
+                    "where b.booker_id = :userId or b.item_id in (" + ITEMS_OF_USER + ")%s)",
+            "update items set request_id = null where id in (select i.id from items i " +
+                    "where i.request_id in (" + REQUESTS_OF_USER + ")%s)",
+            "delete from items where id in (" + ITEMS_OF_USER + "%s)",
+            "delete from requests where id in (" + REQUESTS_OF_USER + "%s)");
+    private static final List<String> LIMITED_STATEMENTS = STATEMENTS.stream()
+            .map(statement -> String.format(statement, " limit :limit"))
+            .collect(Collectors.toList());
+    private static final List<String> UNLIMITED_STATEMENTS = STATEMENTS.stream()
+            .map(statement -> String.format(statement, ""))
+            .collect(Collectors.toList());
+    private static final String DELETE_USER = "delete from users where id = :userId";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Override
+    public int deleteReferencingRows(long userId, int limit) {
+        Map<String, Object> parameters = Map.of("userId", userId, "limit", limit);
+        for (String statement : LIMITED_STATEMENTS) {
+            int changed = jdbcTemplate.update(statement, parameters);
+            if (changed > 0) {
+                return changed;
+            }
+        }
+        return 0;
+    }
+
+    @Override
+    public boolean deleteWithReferencingRows(long userId) {
+        Map<String, Object> parameters = Map.of("userId", userId);
+        UNLIMITED_STATEMENTS.forEach(statement -> jdbcTemplate.update(statement, parameters));
+        boolean deleted = jdbcTemplate.update(DELETE_USER, parameters) > 0;
+        // the rows went past Hibernate; which items and requests were among them isn't known here.
+        // Evicted again after the commit: a read until then still finds the rows and caches them anew
+        evictDeleted(userId);
+        afterCommit(() -> evictDeleted(userId));
+        return deleted;
+    }
+
+    private void evictDeleted(long userId) {
+        Cache cache = entityManagerFactory.getCache();
+        cache.evict(User.class, userId);
+        cache.evict(Item.class);
+        cache.evict(ItemRequest.class);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
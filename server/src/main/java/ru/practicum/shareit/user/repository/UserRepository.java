@@ -1,7 +1,27 @@
 package ru.practicum.shareit.user.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
 
-public interface UserRepository extends JpaRepository<User, Long> {
+import javax.persistence.QueryHint;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface UserRepository extends JpaRepository<User, Long>, UserBulkRepository, UserCascadeRepository {
+
+    // DTOs rather than entities, so paging through all users doesn't fill the request's persistence context
+    @Query("select new ru.practicum.shareit.user.dto.UserDto(u.id, u.name, u.email) from users u " +
+            "where u.id > ?1 " +
+            "order by u.id asc")
+    List<UserDto> findPageAfter(long afterId, Pageable pageable);
+
+    boolean existsByNormalizedEmail(String normalizedEmail);
+
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select u.normalizedEmail from users u")
+    Stream<String> streamNormalizedEmails();
 }
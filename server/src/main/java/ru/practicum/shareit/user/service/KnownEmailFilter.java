@@ -0,0 +1,84 @@
+package ru.practicum.shareit.user.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Stream;
+
+// bloom filter of the normalized emails of all users: "no" is certain, so a new email skips the uniqueness
+// query; "maybe" is confirmed against the database. Emails of deleted users stay in it as false positives
+@Component
+public class KnownEmailFilter {
+
+    private final UserRepository userRepository;
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+
+    public KnownEmailFilter(UserRepository userRepository,
+                            @Value("${shareit.email-filter.expected-users:1000000}") long expectedUsers,
+                            @Value("${shareit.email-filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.userRepository = userRepository;
+        double ln2 = Math.log(2);
+        long optimalBits = (long) Math.ceil(-expectedUsers * Math.log(falsePositiveRate) / (ln2 * ln2));
+        this.words = new AtomicLongArray(Math.toIntExact(Math.max(1, (optimalBits + 63) / 64)));
+        this.bitCount = words.length() * 64L;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedUsers * ln2));
+    }
+
+    // until the emails are loaded a new user may still hit the unique constraint, which is handled as well
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        try (Stream<String> emails = userRepository.streamNormalizedEmails()) {
+            emails.forEach(this::add);
+        }
+    }
+
+    public boolean mightContain(String normalizedEmail) {
+        long hash = hash(normalizedEmail);
+        long step = step(hash);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(hash + i * step, bitCount);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public void add(String normalizedEmail) {
+        long hash = hash(normalizedEmail);
+        long step = step(hash);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(hash + i * step, bitCount);
+            long mask = 1L << bit;
+            words.accumulateAndGet((int) (bit >>> 6), mask, (word, bitMask) -> word | bitMask);
+        }
+    }
+
+    // FNV-1a, then the MurmurHash3 finalizer, so short and similar emails still spread over all bits
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    // the k positions are hash + i * step, two hashes are enough to simulate k independent ones
+    private static long step(long hash) {
+        return Long.rotateLeft(hash, 32) * 0x9E3779B97F4A7C15L | 1;
+    }
+}
@@ -0,0 +1,237 @@
+package ru.practicum.shareit.user.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+// every remember and forget gets a stamp, and a lookup stamped before the last one of its user is not cached:
+// its query may have run before that create or delete was committed
+@Component
+@RequiredArgsConstructor
+public class UserExistenceCache {
+
+    private static final Duration EXISTING_USERS_TTL = Duration.ofSeconds(30);
+    private static final Duration MISSING_USERS_TTL = Duration.ofSeconds(5);
+    private static final int MAX_GENERATION_SIZE = 1 << 16;
+    private static final int MAX_TRACKED_UPDATES = 1 << 12;
+
+    private final UserRepository userRepository;
+    private final ExpiringLongSet existingUsers = new ExpiringLongSet(EXISTING_USERS_TTL);
+    private final ExpiringLongSet missingUsers = new ExpiringLongSet(MISSING_USERS_TTL);
+    // stamp of the last update per user, guarded by this
+    private final Map<Long, Long> lastUpdates = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Long> eldest) {
+            if (size() <= MAX_TRACKED_UPDATES) {
+                return false;
+            }
+            // the user's update is forgotten, so no lookup stamped before it may be cached for any user
+            acceptedFrom = Math.max(acceptedFrom, eldest.getValue());
+            return true;
+        }
+    };
+    private long updates;
+    private long acceptedFrom;
+
+    public boolean exists(Long userId) {
+        if (Objects.isNull(userId) || userId <= 0) {
+            return false;
+        }
+        if (existingUsers.contains(userId)) {
+            return true;
+        }
+        if (missingUsers.contains(userId)) {
+            return false;
+        }
+        long stamp = stamp();
+        boolean exists = userRepository.existsById(userId);
+        learn(userId, stamp, exists);
+        return exists;
+    }
+
+    public void remember(Long userId) {
+        afterCommit(() -> update(userId, true));
+    }
+
+    public void forget(Long userId) {
+        synchronized (this) {
+            lastUpdates.put(userId, ++updates);
+            existingUsers.remove(userId);
+        }
+        afterCommit(() -> update(userId, false));
+    }
+
+    private synchronized long stamp() {
+        return updates;
+    }
+
+    private synchronized void learn(Long userId, long stamp, boolean exists) {
+        Long lastUpdate = lastUpdates.get(userId);
+        if (stamp < acceptedFrom || (lastUpdate != null && lastUpdate > stamp)) {
+            return;
+        }
+        if (exists) {
+            existingUsers.add(userId);
+        } else {
+            missingUsers.add(userId);
+        }
+    }
+
+    private synchronized void update(Long userId, boolean exists) {
+        lastUpdates.put(userId, ++updates);
+        if (exists) {
+            missingUsers.remove(userId);
+            existingUsers.add(userId);
+        } else {
+            existingUsers.remove(userId);
+            missingUsers.add(userId);
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    // values live for one or two generations, so a generation lasts half of the ttl
+    private static final class ExpiringLongSet {
+        private final long generationNanos;
+        private LongHashSet current = new LongHashSet();
+        private LongHashSet previous = new LongHashSet();
+        private long generationStartedAt = System.nanoTime();
+
+        private ExpiringLongSet(Duration ttl) {
+            this.generationNanos = ttl.toNanos() / 2;
+        }
+
+        private synchronized boolean contains(long value) {
+            rotateIfExpired();
+            return current.contains(value) || previous.contains(value);
+        }
+
+        private synchronized void add(long value) {
+            rotateIfExpired();
+            if (current.size() >= MAX_GENERATION_SIZE) {
+                rotate(System.nanoTime());
+            }
+            current.add(value);
+        }
+
+        private synchronized void remove(long value) {
+            current.remove(value);
+            previous.remove(value);
+        }
+
+        private void rotateIfExpired() {
+            long now = System.nanoTime();
+            long age = now - generationStartedAt;
+            if (age >= 2 * generationNanos) {
+                current = new LongHashSet();
+                previous = new LongHashSet();
+                generationStartedAt = now;
+            } else if (age >= generationNanos) {
+                rotate(now);
+            }
+        }
+
+        private void rotate(long now) {
+            previous = current;
+            current = new LongHashSet();
+            generationStartedAt = now;
+        }
+    }
+
+    // open addressing with linear probing; zero marks a free slot, user ids are always positive
+    private static final class LongHashSet {
+        private static final int INITIAL_CAPACITY = 16;
+
+        private long[] slots = new long[INITIAL_CAPACITY];
+        private int size;
+
+        private int size() {
+            return size;
+        }
+
+        private boolean contains(long value) {
+            int mask = slots.length - 1;
+            for (int i = indexOf(value, mask); slots[i] != 0; i = (i + 1) & mask) {
+                if (slots[i] == value) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void add(long value) {
+            if ((size + 1) * 2 > slots.length) {
+                resize();
+            }
+            int mask = slots.length - 1;
+            int i = indexOf(value, mask);
+            while (slots[i] != 0) {
+                if (slots[i] == value) {
+                    return;
+                }
+                i = (i + 1) & mask;
+            }
+            slots[i] = value;
+            size++;
+        }
+
+        private void remove(long value) {
+            int mask = slots.length - 1;
+            int hole = indexOf(value, mask);
+            while (slots[hole] != value) {
+                if (slots[hole] == 0) {
+                    return;
+                }
+                hole = (hole + 1) & mask;
+            }
+            slots[hole] = 0;
+            size--;
+            // shift back the rest of the probe chain so that lookups do not stop at the hole
+            for (int i = (hole + 1) & mask; slots[i] != 0; i = (i + 1) & mask) {
+                int home = indexOf(slots[i], mask);
+                boolean homeBetweenHoleAndSlot = hole <= i
+                        ? hole < home && home <= i
+                        : hole < home || home <= i;
+                if (!homeBetweenHoleAndSlot) {
+                    slots[hole] = slots[i];
+                    slots[i] = 0;
+                    hole = i;
+                }
+            }
+        }
+
+        private void resize() {
+            long[] old = slots;
+            slots = new long[old.length * 2];
+            size = 0;
+            for (long value : old) {
+                if (value != 0) {
+                    add(value);
+                }
+            }
+        }
+
+        private static int indexOf(long value, int mask) {
+            long mixed = value * 0x9E3779B97F4A7C15L;
+            return (int) (mixed ^ (mixed >>> 32)) & mask;
+        }
+    }
+}
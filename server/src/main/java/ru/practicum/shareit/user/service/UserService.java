@@ -1,6 +1,8 @@
 package ru.practicum.shareit.user.service;
 
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.dto.UserLookupDto;
+import ru.practicum.shareit.user.dto.UserProvisionResultDto;
 
 import java.util.List;
 
@@ -10,7 +12,11 @@ public interface UserService {
 
     UserDto getById(Long userId);
 
-    List<UserDto> findAll();
+    List<UserDto> findPage(long afterId, int size);
+
+    List<UserLookupDto> findAllByIds(List<Long> userIds);
+
+    List<UserProvisionResultDto> provision(List<UserDto> userDtos);
 
     UserDto update(UserDto userDto, Long userId);
 
@@ -1,30 +1,72 @@
 package ru.practicum.shareit.user.service;
 
+import ru.practicum.shareit.exception.EmailAlreadyExistsException;
+import ru.practicum.shareit.exception.IncorrectIdsException;
 import ru.practicum.shareit.exception.ShareItElementNotFoundException;
+import ru.practicum.shareit.exception.TooManyIdsException;
+import ru.practicum.shareit.exception.TooManyUsersException;
+import ru.practicum.shareit.item.service.ItemAvailabilityCache;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.dto.UserLookupDto;
+import ru.practicum.shareit.user.dto.UserProvisionResultDto;
+import ru.practicum.shareit.user.dto.UserProvisionStatus;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Locale;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
+@Timed("shareit.service")
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
 
     private static final String EXCEPTION_NOT_FOUND_INFO = "User not found.";
+    private static final String EXCEPTION_EMPTY_ID_INFO = "Every requested id must be a number.";
+    private static final String EXCEPTION_TOO_MANY_IDS_INFO = "At most %d users can be requested at once.";
+    private static final String EXCEPTION_EMAIL_EXISTS_INFO = "Email is already used by another user.";
+    private static final String NORMALIZED_EMAIL_CONSTRAINT = "UQ_USER_NORMALIZED_EMAIL";
+    private static final String EXCEPTION_TOO_MANY_USERS_INFO = "At most %d users can be provisioned at once.";
+    private static final int MAX_LOOKUP_IDS = 100;
+    private static final int MAX_PROVISION_USERS = 5000;
+    private static final int PROVISION_CHUNK_SIZE = 500;
+    private static final int DELETE_CHUNK_SIZE = 1000;
 
     private final UserRepository userRepository;
+    private final UserExistenceCache userExistenceCache;
+    private final KnownEmailFilter knownEmailFilter;
+    private final TransactionTemplate transactionTemplate;
+    private final ItemAvailabilityCache itemAvailabilityCache;
 
     @Override
     @Transactional
     public UserDto create(UserDto userDto) {
         User userFromDto = UserMapper.toUser(userDto, null);
-        User created = userRepository.save(userFromDto);
+        String email = User.normalizeEmail(userFromDto.getEmail());
+        checkEmailIsFree(email);
+        User created = saveUniqueEmail(userFromDto);
+        userExistenceCache.remember(created.getId());
+        rememberEmail(email);
         return UserMapper.toUserDto(created);
     }
 
@@ -34,25 +76,188 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
-    public List<UserDto> findAll() {
-        return UserMapper.toUserDtoList(userRepository.findAll());
+    public List<UserDto> findPage(long afterId, int size) {
+        return userRepository.findPageAfter(afterId, PageRequest.of(0, size));
+    }
+
+    @Override
+    public List<UserLookupDto> findAllByIds(List<Long> userIds) {
+        if (userIds.size() > MAX_LOOKUP_IDS) {
+            throw new TooManyIdsException(String.format(EXCEPTION_TOO_MANY_IDS_INFO, MAX_LOOKUP_IDS));
+        }
+        if (userIds.stream().anyMatch(Objects::isNull)) {
+            throw new IncorrectIdsException(EXCEPTION_EMPTY_ID_INFO);
+        }
+        return UserMapper.toUserLookupDtoList(userIds, userRepository.findAllById(new LinkedHashSet<>(userIds)));
+    }
+
+    // every chunk commits on its own, so a failed chunk leaves the earlier ones provisioned
+    @Override
+    public List<UserProvisionResultDto> provision(List<UserDto> userDtos) {
+        if (userDtos.size() > MAX_PROVISION_USERS) {
+            throw new TooManyUsersException(String.format(EXCEPTION_TOO_MANY_USERS_INFO, MAX_PROVISION_USERS));
+        }
+        List<UserProvisionResultDto> results = new ArrayList<>(userDtos.size());
+        for (int from = 0; from < userDtos.size(); from += PROVISION_CHUNK_SIZE) {
+            List<UserDto> chunk = userDtos.subList(from, Math.min(from + PROVISION_CHUNK_SIZE, userDtos.size()));
+            results.addAll(provisionChunk(chunk));
+        }
+        return results;
     }
 
     @Override
     @Transactional
     public UserDto update(UserDto userDto, Long userId) {
         User user = findById(userId);
+        String email = User.normalizeEmail(userDto.getEmail());
+        if (Objects.isNull(email) || email.equals(User.normalizeEmail(user.getEmail()))) {
+            UserMapper.updateUserWithUserDto(user, userDto);
+            return UserMapper.toUserDto(userRepository.save(user));
+        }
+        // checked before the entity is changed, otherwise the query would flush the new email first
+        checkEmailIsFree(email);
         UserMapper.updateUserWithUserDto(user, userDto);
-        return UserMapper.toUserDto(userRepository.save(user));
+        User updated = saveUniqueEmail(user);
+        rememberEmail(email);
+        return UserMapper.toUserDto(updated);
     }
 
+    // a long history is deleted a chunk per transaction, so no table stays locked for long; the last
+    // transaction deletes the rows added in the meantime together with the user
     @Override
-    @Transactional
     public void delete(Long userId) {
-        userRepository.deleteById(userId);
+        int deleted;
+        do {
+            deleted = transactionTemplate.execute(status ->
+                    userRepository.deleteReferencingRows(userId, DELETE_CHUNK_SIZE));
+        } while (deleted > 0);
+        Boolean existed = transactionTemplate.execute(status -> userRepository.deleteWithReferencingRows(userId));
+        if (!Boolean.TRUE.equals(existed)) {
+            throw new ShareItElementNotFoundException(EXCEPTION_NOT_FOUND_INFO);
+        }
+        userExistenceCache.forget(userId);
+        itemAvailabilityCache.clear();
     }
 
 
+    private List<UserProvisionResultDto> provisionChunk(List<UserDto> chunk) {
+        try {
+            return transactionTemplate.execute(status -> upsertByEmail(chunk, false));
+        } catch (DataIntegrityViolationException e) {
+            if (!isNormalizedEmailViolation(e)) {
+                throw e;
+            }
+        }
+        // a concurrent request created one of the new emails first, which this instance's filter may not know
+        // yet; the second attempt looks up every email and updates that user
+        try {
+            return transactionTemplate.execute(status -> upsertByEmail(chunk, true));
+        } catch (DataIntegrityViolationException e) {
+            if (isNormalizedEmailViolation(e)) {
+                throw new EmailAlreadyExistsException(EXCEPTION_EMAIL_EXISTS_INFO);
+            }
+            throw e;
+        }
+    }
+
+    // users are matched by normalized email: known ones are updated, the rest inserted, each in one batch;
+    // when the chunk repeats an email its last row wins
+    private List<UserProvisionResultDto> upsertByEmail(List<UserDto> chunk, boolean lookUpEveryEmail) {
+        Map<String, User> usersByEmail = new LinkedHashMap<>();
+        for (UserDto userDto : chunk) {
+            usersByEmail.put(User.normalizeEmail(userDto.getEmail()), UserMapper.toUser(userDto, null));
+        }
+        Map<String, Long> existingIds = userRepository.findIdsByNormalizedEmails(usersByEmail.keySet().stream()
+                .filter(email -> lookUpEveryEmail || knownEmailFilter.mightContain(email))
+                .collect(Collectors.toList()));
+
+        List<User> created = new ArrayList<>();
+        List<User> updated = new ArrayList<>();
+        usersByEmail.forEach((email, user) -> {
+            user.setId(existingIds.get(email));
+            if (Objects.isNull(user.getId())) {
+                created.add(user);
+            } else {
+                updated.add(user);
+            }
+        });
+        if (!created.isEmpty()) {
+            List<Long> ids = userRepository.insertAll(created);
+            for (int i = 0; i < created.size(); i++) {
+                created.get(i).setId(ids.get(i));
+                userExistenceCache.remember(ids.get(i));
+                rememberEmail(User.normalizeEmail(created.get(i).getEmail()));
+            }
+        }
+        if (!updated.isEmpty()) {
+            userRepository.updateAll(updated);
+        }
+
+        Set<String> reportedEmails = new HashSet<>();
+        List<UserProvisionResultDto> results = new ArrayList<>(chunk.size());
+        for (UserDto userDto : chunk) {
+            String email = User.normalizeEmail(userDto.getEmail());
+            User user = usersByEmail.get(email);
+            boolean isCreated = !existingIds.containsKey(email) && reportedEmails.add(email);
+            results.add(new UserProvisionResultDto(user.getId(), user.getEmail(),
+                    isCreated ? UserProvisionStatus.CREATED : UserProvisionStatus.UPDATED));
+        }
+        return results;
+    }
+
+    // the filter answers most new emails without a query, only the possibly taken ones are looked up
+    private void checkEmailIsFree(String email) {
+        if (Objects.nonNull(email) && knownEmailFilter.mightContain(email)
+                && userRepository.existsByNormalizedEmail(email)) {
+            throw new EmailAlreadyExistsException(EXCEPTION_EMAIL_EXISTS_INFO);
+        }
+    }
+
+    // a concurrent request may take the email after the check, the unique constraint decides then
+    private User saveUniqueEmail(User user) {
+        try {
+            User saved = userRepository.save(user);
+            userRepository.flush();
+            return saved;
+        } catch (DataIntegrityViolationException e) {
+            if (isNormalizedEmailViolation(e)) {
+                throw new EmailAlreadyExistsException(EXCEPTION_EMAIL_EXISTS_INFO);
+            }
+            throw e;
+        }
+    }
+
+    // a rolled back email stays free, so the filter learns it only after the commit
+    private void rememberEmail(String email) {
+        if (Objects.isNull(email)) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    knownEmailFilter.add(email);
+                }
+            });
+        } else {
+            knownEmailFilter.add(email);
+        }
+    }
+
+    // Hibernate reports the constraint name, batched JDBC writes only the driver's message naming it
+    private static boolean isNormalizedEmailViolation(DataIntegrityViolationException e) {
+        for (Throwable cause = e.getCause(); Objects.nonNull(cause); cause = cause.getCause()) {
+            String description = cause instanceof ConstraintViolationException
+                    ? ((ConstraintViolationException) cause).getConstraintName()
+                    : cause.getMessage();
+            if (Objects.nonNull(description)
+                    && description.toUpperCase(Locale.ROOT).contains(NORMALIZED_EMAIL_CONSTRAINT)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private User findById(Long userId) {
         Optional<User> userOptional = userRepository.findById(userId);
         return userOptional
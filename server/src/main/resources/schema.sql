@@ -8,8 +8,9 @@ CREATE TABLE IF NOT EXISTS users (
   id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
   name VARCHAR(255) NOT NULL,
   email VARCHAR(512) NOT NULL,
+  normalized_email VARCHAR(512) NOT NULL,
   CONSTRAINT pk_user PRIMARY KEY (id),
-  CONSTRAINT UQ_USER_EMAIL UNIQUE (email)
+  CONSTRAINT UQ_USER_NORMALIZED_EMAIL UNIQUE (normalized_email)
 );
 
 CREATE TABLE IF NOT EXISTS requests (
@@ -47,4 +48,12 @@ CREATE TABLE IF NOT EXISTS comments (
     author_id BIGINT REFERENCES users (id) NOT NULL,
     created TIMESTAMP WITHOUT TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
     PRIMARY KEY (id)
-);
\ No newline at end of file
+);
+
+CREATE INDEX IF NOT EXISTS ix_bookings_item_status_period ON bookings (item_id, status, start_date, end_date);
+CREATE INDEX IF NOT EXISTS ix_bookings_booker ON bookings (booker_id);
+CREATE INDEX IF NOT EXISTS ix_comments_item ON comments (item_id);
+CREATE INDEX IF NOT EXISTS ix_comments_author ON comments (author_id);
+CREATE INDEX IF NOT EXISTS ix_items_owner ON items (owner_id);
+CREATE INDEX IF NOT EXISTS ix_items_request ON items (request_id);
+CREATE INDEX IF NOT EXISTS ix_requests_requester ON requests (requester_id);
@@ -23,6 +23,7 @@ import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.request.service.ItemRequestServiceImpl;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserExistenceCache;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -74,6 +75,8 @@ class ItemRequestServiceImplTest {
     private ItemRequestRepository requestRepository;
     @Mock
     private ItemRepository itemRepository;
+    @Mock
+    private UserExistenceCache userExistenceCache;
 
     @InjectMocks
     private ItemRequestServiceImpl itemRequestService;
@@ -187,7 +190,7 @@ class ItemRequestServiceImplTest {
 
     @Test
     void findAll_whenUserExist_thenReturnListIfRequestDto() {
-        when(userRepository.findById(USER_ID)).thenReturn(Optional.of(user));
+        when(userExistenceCache.exists(USER_ID)).thenReturn(true);
         when(requestRepository.findAllByRequesterId(USER_ID, SORT)).thenReturn(List.of(request2, request1));
         when(itemRepository.findAllByRequestId(REQUEST_ID_1)).thenReturn(List.of(item));
         when(itemRepository.findAllByRequestId(REQUEST_ID_2)).thenReturn(List.of());
@@ -199,7 +202,7 @@ class ItemRequestServiceImplTest {
         for (int i = 0; i < actual.size(); i++) {
             assertThat(actual.get(i), samePropertyValuesAs(expected.get(i)));
         }
-        verify(userRepository, times(1)).findById(USER_ID);
+        verify(userExistenceCache, times(1)).exists(USER_ID);
         verify(requestRepository, times(1)).findAllByRequesterId(USER_ID, SORT);
         verify(itemRepository, times(2)).findAllByRequestId(anyLong());
     }
@@ -207,19 +210,19 @@ class ItemRequestServiceImplTest {
     @Test
     void findAll_whenUserNotExist_thenThrowNotFound() {
         String expectedMessage = "User not found.";
-        when(userRepository.findById(USER_ID)).thenReturn(Optional.empty());
+        when(userExistenceCache.exists(USER_ID)).thenReturn(false);
 
         Exception actual = assertThrows(ShareItElementNotFoundException.class,
                 () -> itemRequestService.findAll(USER_ID));
 
         assertEquals(expectedMessage, actual.getMessage());
-        verify(userRepository, times(1)).findById(USER_ID);
+        verify(userExistenceCache, times(1)).exists(USER_ID);
         verifyNoInteractions(requestRepository);
     }
 
     @Test
     void testFindAll_whenUserExist_returnRequestDtoInPage() {
-        when(userRepository.findById(USER_ID)).thenReturn(Optional.of(user));
+        when(userExistenceCache.exists(USER_ID)).thenReturn(true);
         when(requestRepository.findAll(USER_ID, PAGEABLE_1)).thenReturn(PAGE_OF_REQUESTS_1);
 
         List<RequestWithItemsDto> expected = List.of(requestWithItemsDto2);
@@ -227,13 +230,13 @@ class ItemRequestServiceImplTest {
 
         assertEqualLists(expected, actual);
         verify(PAGE_OF_REQUESTS_1, times(1)).getContent();
-        verify(userRepository, times(1)).findById(USER_ID);
+        verify(userExistenceCache, times(1)).exists(USER_ID);
         verify(requestRepository, times(1)).findAll(USER_ID, PAGEABLE_1);
     }
 
     @Test
     void getById_whenUserExistRequestExist_thenReturnRequestDtoWithItems() {
-        when(userRepository.findById(USER_ID)).thenReturn(Optional.of(user));
+        when(userExistenceCache.exists(USER_ID)).thenReturn(true);
         when(requestRepository.findById(REQUEST_ID_1)).thenReturn(Optional.of(request1));
         when(itemRepository.findAllByRequestId(REQUEST_ID_1)).thenReturn(List.of(item));
 
@@ -241,7 +244,7 @@ class ItemRequestServiceImplTest {
         RequestWithItemsDto actual = itemRequestService.getById(USER_ID, REQUEST_ID_1);
 
         assertThat(actual, samePropertyValuesAs(expected));
-        verify(userRepository, times(1)).findById(USER_ID);
+        verify(userExistenceCache, times(1)).exists(USER_ID);
         verify(itemRepository, times(1)).findAllByRequestId(REQUEST_ID_1);
         verify(requestRepository, times(1)).findById(REQUEST_ID_1);
     }
@@ -249,13 +252,13 @@ class ItemRequestServiceImplTest {
     @Test
     void getById_whenUserNotExistRequestExist_thenThrowNotFound() {
         String expectedMessage = "User not found.";
-        when(userRepository.findById(USER_ID)).thenReturn(Optional.empty());
+        when(userExistenceCache.exists(USER_ID)).thenReturn(false);
 
         Exception actual = assertThrows(ShareItElementNotFoundException.class,
                 () -> itemRequestService.getById(USER_ID, REQUEST_ID_1));
 
         assertEquals(expectedMessage, actual.getMessage());
-        verify(userRepository, times(1)).findById(USER_ID);
+        verify(userExistenceCache, times(1)).exists(USER_ID);
         verifyNoInteractions(requestRepository);
         verifyNoInteractions(itemRepository);
     }
@@ -263,14 +266,14 @@ class ItemRequestServiceImplTest {
     @Test
     void getById_whenUserExistRequestNotExist_thenThrowNotFound() {
         String expectedMessage = "Request not found";
-        when(userRepository.findById(USER_ID)).thenReturn(Optional.of(user));
+        when(userExistenceCache.exists(USER_ID)).thenReturn(true);
         when(requestRepository.findById(REQUEST_ID_1)).thenReturn(Optional.empty());
 
         Exception actual = assertThrows(ShareItElementNotFoundException.class,
                 () -> itemRequestService.getById(USER_ID, REQUEST_ID_1));
 
         assertEquals(expectedMessage, actual.getMessage());
-        verify(userRepository, times(1)).findById(USER_ID);
+        verify(userExistenceCache, times(1)).exists(USER_ID);
         verify(requestRepository, times(1)).findById(REQUEST_ID_1);
         verifyNoInteractions(itemRepository);
     }
@@ -0,0 +1,48 @@
+package ru.practicum.shareit.booking.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BookingMetricsTest {
+
+    private MeterRegistry meterRegistry;
+    private BookingMetrics bookingMetrics;
+
+    @BeforeEach
+    void beforeEach() {
+        meterRegistry = new SimpleMeterRegistry();
+        bookingMetrics = new BookingMetrics(meterRegistry);
+    }
+
+    @Test
+    void timeSearch_thenReturnSearchResultAndRecordTimerPerCondition() {
+        String actual = bookingMetrics.timeSearch(BookingServiceImpl.SearchCondition.PAST_FOR_OWNER, () -> "result");
+
+        assertEquals("result", actual);
+        assertEquals(1, meterRegistry.get("shareit.bookings.search")
+                .tag("condition", "PAST_FOR_OWNER")
+                .timer()
+                .count());
+    }
+
+    @Test
+    void countStatusTransition_whenNewBooking_thenCountFromNew() {
+        bookingMetrics.countStatusTransition(null, BookingStatus.WAITING);
+        bookingMetrics.countStatusTransition(BookingStatus.WAITING, BookingStatus.APPROVED);
+        bookingMetrics.countStatusTransition(BookingStatus.WAITING, BookingStatus.APPROVED);
+
+        assertEquals(1, meterRegistry.get("shareit.bookings.status.transitions")
+                .tags("from", "NEW", "to", "WAITING")
+                .counter()
+                .count());
+        assertEquals(2, meterRegistry.get("shareit.bookings.status.transitions")
+                .tags("from", "WAITING", "to", "APPROVED")
+                .counter()
+                .count());
+    }
+}
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.booking.service;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -25,8 +26,10 @@ import ru.practicum.shareit.exception.ShareItElementNotFoundException;
 import ru.practicum.shareit.exception.UnsupportedStatusException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemAvailabilityCache;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserExistenceCache;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
@@ -43,6 +46,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.anyLong;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
@@ -80,6 +84,12 @@ class BookingServiceImplTest {
     private UserRepository userRepository;
     @Mock
     private ItemRepository itemRepository;
+    @Mock
+    private ItemAvailabilityCache availabilityCache;
+    @Mock
+    private UserExistenceCache userExistenceCache;
+    @Spy
+    private BookingMetrics bookingMetrics = new BookingMetrics(new SimpleMeterRegistry());
     @Spy
     private final Map<BookingServiceImpl.SearchCondition, BiFunction<Long, Pageable, Page<Booking>>> conditions = new HashMap<>();
 
@@ -189,6 +199,8 @@ class BookingServiceImplTest {
         verify(bookingRepository, times(1)).save(any(Booking.class));
         verify(userRepository, times(1)).findById(USER_ID);
         verify(itemRepository, times(2)).findById(ITEM_ID);
+        verify(availabilityCache, times(1)).onBookingSaved(booking1);
+        verify(bookingMetrics, times(1)).countStatusTransition(null, BookingStatus.WAITING);
     }
 
     @Test
@@ -289,7 +301,8 @@ class BookingServiceImplTest {
     @Test
     void findBookings_whenUserNotExistCorrectConditionNameCorrectRequester_thenThrowNotFound() {
         String expectedMessage = "User not found.";
-        when(userRepository.findById(USER_ID)).thenReturn(Optional.empty());
+        when(bookingRepository.findUserItemsBookingsWaiting(USER_ID, PAGEABLE_1)).thenReturn(Page.empty());
+        when(userExistenceCache.exists(USER_ID)).thenReturn(false);
 
         Exception actual = assertThrows(ShareItElementNotFoundException.class, () -> bookingService.findBookings(
                         USER_ID,
@@ -299,13 +312,30 @@ class BookingServiceImplTest {
                         PAGE_SIZE_1
                 ));
         assertEquals(expectedMessage, actual.getMessage());
-        verifyNoInteractions(bookingRepository);
-        verifyNoInteractions(conditions);
+        verify(bookingRepository, times(1)).findUserItemsBookingsWaiting(USER_ID, PAGEABLE_1);
+        verify(userExistenceCache, times(1)).exists(USER_ID);
+    }
+
+    @Test
+    void findBookings_whenUserExistNoBookings_thenReturnEmptyList() {
+        when(bookingRepository.findUserItemsBookingsWaiting(USER_ID, PAGEABLE_1)).thenReturn(Page.empty());
+        when(userExistenceCache.exists(USER_ID)).thenReturn(true);
+
+        List<BookingFullDto> actual = bookingService.findBookings(
+                USER_ID,
+                CORRECT_CONDITION_NAME,
+                REQUESTER_OWNER,
+                START_ELEMENT_INDEX,
+                PAGE_SIZE_1
+        );
+
+        assertTrue(actual.isEmpty());
+        verify(userExistenceCache, times(1)).exists(USER_ID);
     }
 
     @Test
     void findBookings_whenUserExistConditionNameIncorrect_thenThrowUnsupported() {
-        when(userRepository.findById(USER_ID)).thenReturn(Optional.of(user));
+        when(userExistenceCache.exists(USER_ID)).thenReturn(true);
         String incorrectConditionName = "WAITINGG";
 
         Exception actual = assertThrows(UnsupportedStatusException.class, () -> bookingService.findBookings(
@@ -324,7 +354,6 @@ class BookingServiceImplTest {
 
     @Test
     void findBookings_whenUserExistConditionNameCorrect_thenReturnBookingFullDtoList() {
-        when(userRepository.findById(OWNER_ID)).thenReturn(Optional.of(owner));
         when(bookingRepository.findUserItemsBookingsWaiting(OWNER_ID, PAGEABLE_1))
                 .thenReturn(PAGE_OF_BOOKINGS_1);
 
@@ -339,7 +368,9 @@ class BookingServiceImplTest {
 
         assertEqualLists(expected, actual);
         verify(PAGE_OF_BOOKINGS_1, times(1)).getContent();
-        verify(userRepository, times(1)).findById(OWNER_ID);
+        verify(bookingMetrics, times(1)).timeSearch(eq(BookingServiceImpl.SearchCondition.WAITING_FOR_OWNER), any());
+        verifyNoInteractions(userExistenceCache);
+        verifyNoInteractions(userRepository);
     }
 
     @Test
@@ -424,6 +455,7 @@ class BookingServiceImplTest {
         verify(bookingRepository, times(1)).findById(BOOKING_ID_1);
         verify(itemRepository, times(1)).findById(ITEM_ID);
         verify(bookingRepository, times(1)).save(any());
+        verify(bookingMetrics, times(1)).countStatusTransition(BookingStatus.WAITING, BookingStatus.REJECTED);
     }
 
     private static <T> void assertEqualLists(List<T> expected, List<T> actual) {
@@ -9,18 +9,28 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.util.StringUtils;
 import ru.practicum.shareit.booking.dto.BookingInItemDto;
 import ru.practicum.shareit.exception.AccessForbiddenException;
+import ru.practicum.shareit.exception.IncorrectIdsException;
+import ru.practicum.shareit.exception.IncorrectPeriodException;
 import ru.practicum.shareit.exception.ShareItElementNotFoundException;
+import ru.practicum.shareit.exception.TooManyIdsException;
 import ru.practicum.shareit.item.dto.CommentFullDto;
 import ru.practicum.shareit.item.dto.CommentInputDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemFullDto;
 import ru.practicum.shareit.item.dto.ItemInputDto;
+import ru.practicum.shareit.item.dto.ItemLookupDto;
 import ru.practicum.shareit.item.dto.ItemOutDto;
 import ru.practicum.shareit.item.service.ItemServiceImpl;
 
+import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -182,6 +192,60 @@ class ItemControllerTest {
         assertEquals(expected, actual);
     }
 
+    @SneakyThrows
+    @Test
+    void findAllByIds_thenReturnOkAndLookupsInRequestedOrder() {
+        List<ItemLookupDto> lookups = List.of(new ItemLookupDto(3L, false, null),
+                new ItemLookupDto(ITEM_ID, true, itemOutDto),
+                new ItemLookupDto(3L, false, null));
+        when(itemService.findAllByIds(List.of(3L, ITEM_ID, 3L))).thenReturn(lookups);
+
+        String actual = mockMvc.perform(get("/items")
+                        .header(X_SHARER_USER_ID, OWNER_ID)
+                        .param("ids", "3,1,3"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        String expected = objectMapper.writeValueAsString(lookups);
+        assertEquals(expected, actual);
+    }
+
+    @SneakyThrows
+    @Test
+    void findAllByIds_whenIdIsEmpty_thenReturnBadRequest() {
+        String expectedMessage = "Every requested id must be a number.";
+        when(itemService.findAllByIds(Arrays.asList(ITEM_ID, null, 2L)))
+                .thenThrow(new IncorrectIdsException(expectedMessage));
+
+        mockMvc.perform(get("/items")
+                        .header(X_SHARER_USER_ID, OWNER_ID)
+                        .param("ids", "1,,2"))
+                .andExpect(status().isBadRequest())
+                .andExpect(result ->
+                        assertTrue(result.getResolvedException() instanceof IncorrectIdsException))
+                .andExpect(result ->
+                        assertEquals(expectedMessage,
+                                Objects.requireNonNull(result.getResolvedException()).getMessage())
+                );
+    }
+
+    @SneakyThrows
+    @Test
+    void findAllByIds_whenTooManyIds_thenReturnBadRequest() {
+        List<Long> ids = LongStream.rangeClosed(1, 101).boxed().collect(Collectors.toList());
+        when(itemService.findAllByIds(ids))
+                .thenThrow(new TooManyIdsException("At most 100 items can be requested at once."));
+
+        mockMvc.perform(get("/items")
+                        .header(X_SHARER_USER_ID, OWNER_ID)
+                        .param("ids", StringUtils.collectionToCommaDelimitedString(ids)))
+                .andExpect(status().isBadRequest())
+                .andExpect(result ->
+                        assertTrue(result.getResolvedException() instanceof TooManyIdsException));
+    }
+
     @SneakyThrows
     @Test
     void update_whenUserExistItemExist_thenReturnOkAndItemOutDto() {
@@ -242,7 +306,7 @@ class ItemControllerTest {
     @Test
     void search_whenGivenValidParams_themReturnOkAndListOfItemOutDtos() {
 
-        when(itemService.search(anyString(), anyInt(), anyInt())).thenReturn(List.of(itemOutDto));
+        when(itemService.search(anyString(), any(), any(), anyInt(), anyInt())).thenReturn(List.of(itemOutDto));
 
         String actual = mockMvc.perform(get("/items/search")
                         .contentType("application/json")
@@ -262,7 +326,7 @@ class ItemControllerTest {
     @Test
     void search_whenGivenBlankText_themReturnOkAndEmptyList() {
 
-        when(itemService.search(anyString(), anyInt(), anyInt())).thenReturn(List.of());
+        when(itemService.search(anyString(), any(), any(), anyInt(), anyInt())).thenReturn(List.of());
 
         String actual = mockMvc.perform(get("/items/search")
                         .contentType("application/json")
@@ -296,4 +360,44 @@ class ItemControllerTest {
         CommentFullDto actual = objectMapper.readValue(actualResponse, CommentFullDto.class);
         assertEquals(commentFullDto, actual);
     }
-}
\ No newline at end of file
+
+    @SneakyThrows
+    @Test
+    void getAvailability_whenValidPeriod_thenReturnOkAndItemAvailabilityDto() {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        LocalDateTime to = from.plusDays(7);
+        ItemAvailabilityDto availability = ItemAvailabilityDto.builder()
+                .itemId(ITEM_ID)
+                .from(from)
+                .to(to)
+                .busy(List.of())
+                .free(List.of())
+                .build();
+        when(itemService.getAvailability(ITEM_ID, from, to)).thenReturn(availability);
+
+        String actual = mockMvc.perform(get("/items/{itemId}/availability", ITEM_ID)
+                        .header(X_SHARER_USER_ID, USER_ID)
+                        .param("from", from.toString())
+                        .param("to", to.toString()))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        assertEquals(objectMapper.writeValueAsString(availability), actual);
+    }
+
+    @SneakyThrows
+    @Test
+    void getAvailability_whenIncorrectPeriod_thenReturnBadRequest() {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        when(itemService.getAvailability(ITEM_ID, from, from))
+                .thenThrow(new IncorrectPeriodException("Period start should be before its end."));
+
+        mockMvc.perform(get("/items/{itemId}/availability", ITEM_ID)
+                        .header(X_SHARER_USER_ID, USER_ID)
+                        .param("from", from.toString())
+                        .param("to", from.toString()))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -7,6 +7,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.request.model.ItemRequest;
@@ -15,6 +18,7 @@ import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -36,6 +40,9 @@ class ItemRepositoryTest {
     @Autowired
     private ItemRequestRepository requestRepository;
 
+    @Autowired
+    private BookingRepository bookingRepository;
+
     private Item item1;
     private Item item2;
     private User owner;
@@ -110,6 +117,38 @@ class ItemRepositoryTest {
         assertEqualLists(expected2, actual2);
     }
 
+    @Test
+    void searchAvailableInPeriod_thenReturnItemsWithoutApprovedBookingsInPeriod() {
+        // the database keeps microseconds, a rounded booking end would overlap the period starting at it
+        LocalDateTime start = LocalDateTime.now().plusWeeks(1).truncatedTo(ChronoUnit.SECONDS);
+        LocalDateTime end = start.plusDays(3);
+        Booking approved = Booking.builder()
+                .start(start.plusDays(1))
+                .end(end.plusDays(1))
+                .item(item1)
+                .booker(booker)
+                .status(BookingStatus.APPROVED)
+                .build();
+        Booking waiting = Booking.builder()
+                .start(start)
+                .end(end)
+                .item(item2)
+                .booker(booker)
+                .status(BookingStatus.WAITING)
+                .build();
+        bookingRepository.save(approved);
+        bookingRepository.save(waiting);
+
+        List<Item> actual1 = itemRepository.searchAvailableInPeriod("itemName", start, end, PAGEABLE_20).getContent();
+        List<Item> expected1 = List.of(item2);
+        assertEqualLists(expected1, actual1);
+
+        List<Item> actual2 = itemRepository
+                .searchAvailableInPeriod("itemName", end.plusDays(1), end.plusDays(2), PAGEABLE_20).getContent();
+        List<Item> expected2 = List.of(item1, item2);
+        assertEqualLists(expected2, actual2);
+    }
+
     @Test
     void findAllByOwnerIdOrderByIdAsc_thenReturnPageOfItems() {
         List<Item> actual1 = itemRepository.findAllByOwnerIdOrderByIdAsc(owner.getId(), PAGEABLE_20).getContent();
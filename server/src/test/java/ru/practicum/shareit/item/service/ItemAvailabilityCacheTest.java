@@ -0,0 +1,153 @@
+package ru.practicum.shareit.item.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.dto.AvailabilityIntervalDto;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ItemAvailabilityCacheTest {
+
+    private static final Long ITEM_ID = 1L;
+    private static final LocalDateTime LOADED_FROM = LocalDateTime.of(2030, 1, 1, 0, 0);
+    private static final LocalDateTime LOADED_TO = LOADED_FROM.plusMonths(3);
+
+    private final AtomicLong nanoClock = new AtomicLong();
+    private ItemAvailabilityCache cache;
+    private Item item;
+    private Booking booking1;
+
+    @BeforeEach
+    void beforeEach() {
+        cache = new ItemAvailabilityCache(nanoClock::get);
+        item = Item.builder()
+                .id(ITEM_ID)
+                .name("itemName")
+                .description("itemDescription")
+                .available(true)
+                .build();
+        booking1 = Booking.builder()
+                .id(1L)
+                .start(LOADED_FROM.plusDays(1))
+                .end(LOADED_FROM.plusDays(3))
+                .item(item)
+                .status(BookingStatus.APPROVED)
+                .build();
+    }
+
+    @Test
+    void find_whenItemNotLoaded_thenReturnEmpty() {
+        Optional<List<AvailabilityIntervalDto>> actual = cache.find(ITEM_ID, LOADED_FROM, LOADED_TO);
+
+        assertTrue(actual.isEmpty());
+    }
+
+    @Test
+    void find_whenPeriodOutsideLoadedPeriod_thenReturnEmpty() {
+        cache.load(ITEM_ID, cache.stamp(), LOADED_FROM, LOADED_TO, List.of(booking1));
+
+        Optional<List<AvailabilityIntervalDto>> actual = cache.find(ITEM_ID, LOADED_FROM, LOADED_TO.plusDays(1));
+
+        assertTrue(actual.isEmpty());
+    }
+
+    @Test
+    void find_whenPeriodInsideLoadedPeriod_thenReturnOnlyOverlappingIntervals() {
+        cache.load(ITEM_ID, cache.stamp(), LOADED_FROM, LOADED_TO, List.of(booking1));
+
+        List<AvailabilityIntervalDto> overlapping = cache.find(ITEM_ID, LOADED_FROM.plusDays(2), LOADED_TO).orElseThrow();
+        List<AvailabilityIntervalDto> notOverlapping = cache.find(ITEM_ID, LOADED_FROM.plusDays(3), LOADED_TO).orElseThrow();
+
+        assertEquals(List.of(new AvailabilityIntervalDto(booking1.getStart(), booking1.getEnd())), overlapping);
+        assertTrue(notOverlapping.isEmpty());
+    }
+
+    @Test
+    void onBookingSaved_whenBookingWaiting_thenAddInterval() {
+        cache.load(ITEM_ID, cache.stamp(), LOADED_FROM, LOADED_TO, List.of(booking1));
+        Booking booking2 = booking1.toBuilder()
+                .id(2L)
+                .start(LOADED_FROM.plusDays(10))
+                .end(LOADED_FROM.plusDays(11))
+                .status(BookingStatus.WAITING)
+                .build();
+
+        cache.onBookingSaved(booking2);
+
+        List<AvailabilityIntervalDto> actual = cache.find(ITEM_ID, LOADED_FROM, LOADED_TO).orElseThrow();
+        assertEquals(2, actual.size());
+        assertEquals(booking2.getStart(), actual.get(1).getStart());
+    }
+
+    @Test
+    void onBookingSaved_whenBookingRejected_thenRemoveInterval() {
+        cache.load(ITEM_ID, cache.stamp(), LOADED_FROM, LOADED_TO, List.of(booking1));
+        booking1.setStatus(BookingStatus.REJECTED);
+
+        cache.onBookingSaved(booking1);
+
+        assertTrue(cache.find(ITEM_ID, LOADED_FROM, LOADED_TO).orElseThrow().isEmpty());
+    }
+
+    @Test
+    void load_whenBookingSavedWhileItemNotLoaded_thenDropSnapshotTakenBefore() {
+        long stamp = cache.stamp();
+        Booking booking2 = booking1.toBuilder()
+                .id(2L)
+                .start(LOADED_FROM.plusDays(10))
+                .end(LOADED_FROM.plusDays(11))
+                .status(BookingStatus.WAITING)
+                .build();
+
+        cache.onBookingSaved(booking2);
+        cache.load(ITEM_ID, stamp, LOADED_FROM, LOADED_TO, List.of(booking1));
+
+        assertTrue(cache.find(ITEM_ID, LOADED_FROM, LOADED_TO).isEmpty());
+
+        cache.load(ITEM_ID, cache.stamp(), LOADED_FROM, LOADED_TO, List.of(booking1, booking2));
+
+        assertEquals(2, cache.find(ITEM_ID, LOADED_FROM, LOADED_TO).orElseThrow().size());
+    }
+
+    @Test
+    void load_whenOtherItemUpdatedAfterStamp_thenKeepSnapshot() {
+        long stamp = cache.stamp();
+        Item otherItem = item.toBuilder().id(2L).build();
+
+        cache.onBookingSaved(booking1.toBuilder().id(2L).item(otherItem).build());
+        cache.load(ITEM_ID, stamp, LOADED_FROM, LOADED_TO, List.of(booking1));
+
+        assertEquals(1, cache.find(ITEM_ID, LOADED_FROM, LOADED_TO).orElseThrow().size());
+    }
+
+    @Test
+    void load_whenClearedAfterStamp_thenDropSnapshot() {
+        long stamp = cache.stamp();
+
+        cache.clear();
+        cache.load(ITEM_ID, stamp, LOADED_FROM, LOADED_TO, List.of(booking1));
+
+        assertTrue(cache.find(ITEM_ID, LOADED_FROM, LOADED_TO).isEmpty());
+    }
+
+    @Test
+    void find_whenLoadedLongAgo_thenReturnEmpty() {
+        cache.load(ITEM_ID, cache.stamp(), LOADED_FROM, LOADED_TO, List.of(booking1));
+        nanoClock.addAndGet(Duration.ofMinutes(9).toNanos());
+        assertTrue(cache.find(ITEM_ID, LOADED_FROM, LOADED_TO).isPresent());
+
+        nanoClock.addAndGet(Duration.ofMinutes(1).toNanos());
+
+        assertTrue(cache.find(ITEM_ID, LOADED_FROM, LOADED_TO).isEmpty());
+    }
+}
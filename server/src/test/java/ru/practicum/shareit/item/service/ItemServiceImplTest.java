@@ -19,12 +19,18 @@ import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.exception.AccessForbiddenException;
+import ru.practicum.shareit.exception.IncorrectIdsException;
+import ru.practicum.shareit.exception.IncorrectPeriodException;
 import ru.practicum.shareit.exception.NoUserBookingAvailableToComment;
 import ru.practicum.shareit.exception.ShareItElementNotFoundException;
+import ru.practicum.shareit.exception.TooManyIdsException;
+import ru.practicum.shareit.item.dto.AvailabilityIntervalDto;
 import ru.practicum.shareit.item.dto.CommentFullDto;
 import ru.practicum.shareit.item.dto.CommentInputDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemFullDto;
 import ru.practicum.shareit.item.dto.ItemInputDto;
+import ru.practicum.shareit.item.dto.ItemLookupDto;
 import ru.practicum.shareit.item.dto.ItemOutDto;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Comment;
@@ -36,10 +42,16 @@ import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserExistenceCache;
 
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 
 import static org.hamcrest.Matchers.*;
@@ -107,6 +119,10 @@ class ItemServiceImplTest {
     private CommentRepository commentRepository;
     @Mock
     private ItemRequestRepository requestRepository;
+    @Mock
+    private ItemAvailabilityCache availabilityCache;
+    @Mock
+    private UserExistenceCache userExistenceCache;
 
     @InjectMocks
     private ItemServiceImpl itemService;
@@ -121,7 +137,9 @@ class ItemServiceImplTest {
                 userRepository,
                 bookingRepository,
                 commentRepository,
-                requestRepository
+                requestRepository,
+                availabilityCache,
+                userExistenceCache
         );
         itemInputDto = ItemInputDto.builder()
                 .id(null)
@@ -409,6 +427,50 @@ class ItemServiceImplTest {
         verifyNoInteractions(commentRepository);
     }
 
+    @Test
+    void findAllByIds_whenSomeItemsNotExist_thenReturnInRequestedOrderWithMarkers() {
+        Item other = item.toBuilder().id(3L).name("otherName").build();
+        when(itemRepository.findAllById(Set.of(3L, 2L, ITEM_ID))).thenReturn(List.of(item, other));
+        List<ItemLookupDto> expected = List.of(
+                new ItemLookupDto(3L, true, ItemMapper.toItemOutDto(other)),
+                new ItemLookupDto(2L, false, null),
+                new ItemLookupDto(ITEM_ID, true, itemOutDto),
+                new ItemLookupDto(3L, true, ItemMapper.toItemOutDto(other)));
+
+        List<ItemLookupDto> actual = itemService.findAllByIds(List.of(3L, 2L, ITEM_ID, 3L));
+
+        assertEquals(expected, actual);
+        verify(itemRepository, times(1)).findAllById(Set.of(3L, 2L, ITEM_ID));
+    }
+
+    @Test
+    void findAllByIds_whenHundredIds_thenLookUpAll() {
+        List<Long> ids = LongStream.rangeClosed(1, 100).boxed().collect(Collectors.toList());
+        when(itemRepository.findAllById(new LinkedHashSet<>(ids))).thenReturn(List.of(item));
+
+        List<ItemLookupDto> actual = itemService.findAllByIds(ids);
+
+        assertEquals(100, actual.size());
+        assertEquals(new ItemLookupDto(ITEM_ID, true, itemOutDto), actual.get(0));
+        assertEquals(new ItemLookupDto(100L, false, null), actual.get(99));
+    }
+
+    @Test
+    void findAllByIds_whenTooManyIds_thenThrowTooManyIds() {
+        List<Long> ids = LongStream.rangeClosed(1, 101).boxed().collect(Collectors.toList());
+
+        assertThrows(TooManyIdsException.class, () -> itemService.findAllByIds(ids));
+        verifyNoInteractions(itemRepository);
+    }
+
+    @Test
+    void findAllByIds_whenIdIsEmpty_thenThrowIncorrectIds() {
+        List<Long> ids = Arrays.asList(ITEM_ID, null, 2L);
+
+        assertThrows(IncorrectIdsException.class, () -> itemService.findAllByIds(ids));
+        verifyNoInteractions(itemRepository);
+    }
+
     @Test
     void update_whenUserIsOwnerItemExistUpdateDescription_thenReturnUpdated() {
         String changed = "updated description";
@@ -418,7 +480,6 @@ class ItemServiceImplTest {
         itemInputDto.setAvailable(null);
         itemInputDto.setName(null);
         when(itemRepository.findById(ITEM_ID)).thenReturn(Optional.of(item));
-        when(userRepository.findById(OWNER_ID)).thenReturn(Optional.of(owner));
         when(itemRepository.save(itemCaptor.capture())).thenReturn(item);
 
         ItemOutDto expected = itemOutDto;
@@ -427,7 +488,7 @@ class ItemServiceImplTest {
         assertThat(expected, samePropertyValuesAs(actual));
         assertThat(actual).isEqualTo(expected);
         verify(itemRepository, times(1)).findById(ITEM_ID);
-        verify(userRepository, times(1)).findById(OWNER_ID);
+        verifyNoInteractions(userExistenceCache);
         verify(itemRepository, times(1)).save(item);
         Item shouldBeUpdatedWithChangedDescription = itemCaptor.getValue();
         assertEquals(item, shouldBeUpdatedWithChangedDescription);
@@ -442,7 +503,6 @@ class ItemServiceImplTest {
         itemInputDto.setAvailable(null);
         itemInputDto.setDescription(null);
         when(itemRepository.findById(ITEM_ID)).thenReturn(Optional.of(item));
-        when(userRepository.findById(OWNER_ID)).thenReturn(Optional.of(owner));
         when(itemRepository.save(itemCaptor.capture())).thenReturn(item);
 
         ItemOutDto expected = itemOutDto;
@@ -451,7 +511,7 @@ class ItemServiceImplTest {
         assertThat(expected, samePropertyValuesAs(actual));
         assertThat(actual).isEqualTo(expected);
         verify(itemRepository, times(1)).findById(ITEM_ID);
-        verify(userRepository, times(1)).findById(OWNER_ID);
+        verifyNoInteractions(userExistenceCache);
         verify(itemRepository, times(1)).save(item);
         Item shouldBeUpdatedWithChangedName = itemCaptor.getValue();
         assertEquals(item, shouldBeUpdatedWithChangedName);
@@ -466,7 +526,6 @@ class ItemServiceImplTest {
         itemInputDto.setName(null);
         itemInputDto.setDescription(null);
         when(itemRepository.findById(ITEM_ID)).thenReturn(Optional.of(item));
-        when(userRepository.findById(OWNER_ID)).thenReturn(Optional.of(owner));
         when(itemRepository.save(itemCaptor.capture())).thenReturn(item);
 
         ItemOutDto expected = itemOutDto;
@@ -475,7 +534,7 @@ class ItemServiceImplTest {
         assertThat(expected, samePropertyValuesAs(actual));
         assertThat(actual).isEqualTo(expected);
         verify(itemRepository, times(1)).findById(ITEM_ID);
-        verify(userRepository, times(1)).findById(OWNER_ID);
+        verifyNoInteractions(userExistenceCache);
         verify(itemRepository, times(1)).save(item);
         Item shouldBeUpdatedWithChangedAvailable = itemCaptor.getValue();
         assertEquals(item, shouldBeUpdatedWithChangedAvailable);
@@ -490,13 +549,13 @@ class ItemServiceImplTest {
         item.setDescription(changed);
         String expectedMessage = "Only owner can change the item.";
         when(itemRepository.findById(ITEM_ID)).thenReturn(Optional.of(item));
-        when(userRepository.findById(USER_ID)).thenReturn(Optional.of(user));
+        when(userExistenceCache.exists(USER_ID)).thenReturn(true);
 
         Exception actual = assertThrows(AccessForbiddenException.class, () -> itemService.update(itemInputDto, USER_ID, ITEM_ID));
 
         assertThat(expectedMessage, samePropertyValuesAs(actual.getMessage()));
         verify(itemRepository, times(1)).findById(ITEM_ID);
-        verify(userRepository, times(1)).findById(USER_ID);
+        verify(userExistenceCache, times(1)).exists(USER_ID);
         verify(itemRepository, never()).save(item);
     }
 
@@ -511,7 +570,7 @@ class ItemServiceImplTest {
 
         assertThat(expectedMessage, samePropertyValuesAs(actual.getMessage()));
         verify(itemRepository, times(1)).findById(ITEM_ID);
-        verify(userRepository, never()).findById(USER_ID);
+        verifyNoInteractions(userExistenceCache);
         verify(itemRepository, never()).save(item);
     }
 
@@ -521,13 +580,13 @@ class ItemServiceImplTest {
         itemInputDto.setDescription(changed);
         String expectedMessage = "User not found.";
         when(itemRepository.findById(ITEM_ID)).thenReturn(Optional.of(item));
-        when(userRepository.findById(OTHER_ID)).thenReturn(Optional.empty());
+        when(userExistenceCache.exists(OTHER_ID)).thenReturn(false);
 
         Exception actual = assertThrows(ShareItElementNotFoundException.class, () -> itemService.update(itemInputDto, OTHER_ID, ITEM_ID));
 
         assertEquals(expectedMessage, actual.getMessage());
         verify(itemRepository, times(1)).findById(ITEM_ID);
-        verify(userRepository, times(1)).findById(OTHER_ID);
+        verify(userExistenceCache, times(1)).exists(OTHER_ID);
         verify(itemRepository, never()).save(item);
     }
 
@@ -536,7 +595,7 @@ class ItemServiceImplTest {
         String searchBy = "item";
         when(itemRepository.search(searchBy, PAGEABLE_1)).thenReturn(PAGE_OF_ITEMS_1);
 
-        List<ItemOutDto> actual = itemService.search(searchBy, START_ELEMENT_INDEX, PAGE_SIZE_1);
+        List<ItemOutDto> actual = itemService.search(searchBy, null, null, START_ELEMENT_INDEX, PAGE_SIZE_1);
         List<ItemOutDto> expected = List.of(itemOutDto);
 
         assertEqualLists(expected, actual);
@@ -548,7 +607,7 @@ class ItemServiceImplTest {
         String searchBy = "EMPTY";
         when(itemRepository.search(searchBy, PAGEABLE_1)).thenReturn(PAGE_OF_ITEMS_EMPTY);
 
-        List<ItemOutDto> actual = itemService.search(searchBy, START_ELEMENT_INDEX, PAGE_SIZE_1);
+        List<ItemOutDto> actual = itemService.search(searchBy, null, null, START_ELEMENT_INDEX, PAGE_SIZE_1);
         List<ItemOutDto> expected = List.of();
 
         assertEqualLists(expected, actual);
@@ -559,13 +618,35 @@ class ItemServiceImplTest {
     void search_whenSearchIsBlank_thenReturnEmptyList() {
         String searchBy = "";
 
-        List<ItemOutDto> actual = itemService.search(searchBy, START_ELEMENT_INDEX, PAGE_SIZE_1);
+        List<ItemOutDto> actual = itemService.search(searchBy, null, null, START_ELEMENT_INDEX, PAGE_SIZE_1);
         List<ItemOutDto> expected = List.of();
 
         assertEqualLists(expected, actual);
         verifyNoInteractions(itemRepository);
     }
 
+    @Test
+    void search_whenPeriodGiven_thenSearchAvailableInPeriod() {
+        String searchBy = "item";
+        when(itemRepository.searchAvailableInPeriod(searchBy, NEXT_BOOKING_START, NEXT_BOOKING_END, PAGEABLE_1))
+                .thenReturn(PAGE_OF_ITEMS_1);
+
+        List<ItemOutDto> actual = itemService.search(
+                searchBy, NEXT_BOOKING_START, NEXT_BOOKING_END, START_ELEMENT_INDEX, PAGE_SIZE_1);
+        List<ItemOutDto> expected = List.of(itemOutDto);
+
+        assertEqualLists(expected, actual);
+        verify(itemRepository, never()).search(searchBy, PAGEABLE_1);
+    }
+
+    @Test
+    void search_whenOnlyPeriodStartGiven_thenThrowIncorrectPeriod() {
+        assertThrows(IncorrectPeriodException.class, () -> itemService.search(
+                "item", NEXT_BOOKING_START, null, START_ELEMENT_INDEX, PAGE_SIZE_1));
+
+        verifyNoInteractions(itemRepository);
+    }
+
     @Test
     void addComment_whenItemExistUserExistUserIsBooker_thenSaveAndRetunNewComment() {
         when(itemRepository.findById(ITEM_ID)).thenReturn(Optional.of(item));
@@ -640,6 +721,74 @@ class ItemServiceImplTest {
         verify(commentRepository, never()).save(ArgumentMatchers.any());
     }
 
+    @Test
+    void getAvailability_whenItemCached_thenReturnMergedIntervalsWithoutRepositoryCall() {
+        LocalDateTime from = NEXT_BOOKING_START.minusDays(1);
+        LocalDateTime to = NEXT_BOOKING_END.plusDays(1);
+        List<AvailabilityIntervalDto> booked = List.of(
+                new AvailabilityIntervalDto(NEXT_BOOKING_START, NEXT_BOOKING_START.plusDays(2)),
+                new AvailabilityIntervalDto(NEXT_BOOKING_START.plusDays(1), NEXT_BOOKING_END)
+        );
+        when(availabilityCache.find(ITEM_ID, from, to)).thenReturn(Optional.of(booked));
+
+        ItemAvailabilityDto actual = itemService.getAvailability(ITEM_ID, from, to);
+
+        assertEquals(List.of(new AvailabilityIntervalDto(NEXT_BOOKING_START, NEXT_BOOKING_END)), actual.getBusy());
+        assertEquals(List.of(
+                new AvailabilityIntervalDto(from, NEXT_BOOKING_START),
+                new AvailabilityIntervalDto(NEXT_BOOKING_END, to)
+        ), actual.getFree());
+        verifyNoInteractions(bookingRepository);
+        verify(itemRepository, never()).existsById(anyLong());
+    }
+
+    @Test
+    void getAvailability_whenItemNotCached_thenLoadBookingsAndFillCache() {
+        LocalDateTime from = NEXT_BOOKING_START.minusDays(1);
+        LocalDateTime to = NEXT_BOOKING_END.plusDays(1);
+        when(availabilityCache.find(ITEM_ID, from, to)).thenReturn(Optional.empty());
+        when(itemRepository.existsById(ITEM_ID)).thenReturn(true);
+        when(bookingRepository.findItemBookingsInPeriod(
+                ArgumentMatchers.eq(ITEM_ID),
+                ArgumentMatchers.eq(BookingStatus.getOccupyingItem()),
+                ArgumentMatchers.eq(from),
+                ArgumentMatchers.any(LocalDateTime.class)
+        )).thenReturn(List.of(next));
+
+        ItemAvailabilityDto actual = itemService.getAvailability(ITEM_ID, from, to);
+
+        assertEquals(List.of(new AvailabilityIntervalDto(NEXT_BOOKING_START, NEXT_BOOKING_END)), actual.getBusy());
+        assertEquals(2, actual.getFree().size());
+        verify(availabilityCache, times(1)).load(
+                ArgumentMatchers.eq(ITEM_ID),
+                ArgumentMatchers.anyLong(),
+                ArgumentMatchers.eq(from),
+                ArgumentMatchers.any(LocalDateTime.class),
+                ArgumentMatchers.eq(List.of(next))
+        );
+    }
+
+    @Test
+    void getAvailability_whenItemNotExist_thenThrowNotFound() {
+        LocalDateTime from = NEXT_BOOKING_START;
+        LocalDateTime to = NEXT_BOOKING_END;
+        when(availabilityCache.find(ITEM_ID, from, to)).thenReturn(Optional.empty());
+        when(itemRepository.existsById(ITEM_ID)).thenReturn(false);
+
+        assertThrows(ShareItElementNotFoundException.class, () -> itemService.getAvailability(ITEM_ID, from, to));
+
+        verifyNoInteractions(bookingRepository);
+    }
+
+    @Test
+    void getAvailability_whenPeriodIncorrect_thenThrowIncorrectPeriod() {
+        assertThrows(IncorrectPeriodException.class,
+                () -> itemService.getAvailability(ITEM_ID, NEXT_BOOKING_END, NEXT_BOOKING_START));
+
+        verifyNoInteractions(availabilityCache);
+        verifyNoInteractions(bookingRepository);
+    }
+
     private static <T> void assertEqualLists(List<T> expected, List<T> actual) {
         assertListSize(expected, actual);
         assertListsContainAll(expected, actual);
@@ -197,7 +197,7 @@ class ItemServiceRepositoryIntegrationTest {
         itemInputDto.setDescription("for searching");
         ItemOutDto savedFromDb = itemService.create(itemInputDto, userId);
 
-        List<ItemOutDto> actual = itemService.search("search", 0, 20);
+        List<ItemOutDto> actual = itemService.search("search", null, null, 0, 20);
         List<ItemOutDto> expected = List.of(savedFromDb);
 
         assertEquals(expected, actual);
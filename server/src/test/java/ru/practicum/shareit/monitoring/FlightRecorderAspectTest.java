@@ -0,0 +1,133 @@
+package ru.practicum.shareit.monitoring;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class FlightRecorderAspectTest {
+
+    private static final String EVENT_NAME = "ru.practicum.shareit.ServiceOperation";
+    private static final Long USER_ID = 42L;
+
+    @TempDir
+    Path directory;
+
+    private Recording recording;
+    private RecordedService service;
+
+    @BeforeEach
+    void beforeEach() {
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(new RecordedService());
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(new FlightRecorderAspect());
+        service = proxyFactory.getProxy();
+        recording = new Recording();
+        recording.enable(EVENT_NAME);
+        recording.start();
+    }
+
+    @AfterEach
+    void afterEach() {
+        recording.close();
+    }
+
+    @Test
+    void record_whenListReturned_thenCommitUserIdAndRows() throws IOException {
+        service.findAll(0, USER_ID);
+
+        RecordedEvent event = single(events());
+        assertEquals("RecordedService.findAll", event.getString("operation"));
+        assertEquals(USER_ID, event.getLong("userId"));
+        assertEquals(3, event.getInt("rows"));
+        assertEquals("OK", event.getString("outcome"));
+    }
+
+    @Test
+    void record_whenSingleResultOrNothing_thenCountOneOrNoRow() throws IOException {
+        service.findById(USER_ID, 1L);
+        service.findById(USER_ID, null);
+
+        List<RecordedEvent> events = events();
+        assertEquals(List.of(1, 0), events.stream()
+                .map(event -> event.getInt("rows"))
+                .collect(Collectors.toList()));
+    }
+
+    @Test
+    void record_whenNoUserIdParameter_thenCommitNoUserId() throws IOException {
+        service.count(USER_ID);
+
+        assertEquals(-1, single(events()).getLong("userId"));
+    }
+
+    @Test
+    void record_whenMethodThrows_thenCommitExceptionNameAsOutcome() throws IOException {
+        assertThrows(IllegalStateException.class, () -> service.fail(USER_ID));
+
+        RecordedEvent event = single(events());
+        assertEquals("IllegalStateException", event.getString("outcome"));
+        assertEquals(USER_ID, event.getLong("userId"));
+        assertEquals(0, event.getInt("rows"));
+    }
+
+    @Test
+    void record_whenMethodNotAnnotated_thenCommitNothing() throws IOException {
+        service.notRecorded(USER_ID);
+
+        assertEquals(List.of(), events());
+    }
+
+    private List<RecordedEvent> events() throws IOException {
+        recording.stop();
+        Path file = directory.resolve("recording.jfr");
+        recording.dump(file);
+        return RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().equals(EVENT_NAME))
+                .collect(Collectors.toList());
+    }
+
+    private static RecordedEvent single(List<RecordedEvent> events) {
+        assertEquals(1, events.size());
+        return events.get(0);
+    }
+
+    static class RecordedService {
+
+        @FlightRecorded
+        public List<String> findAll(int from, Long userId) {
+            return List.of("first", "second", "third");
+        }
+
+        @FlightRecorded
+        public String findById(Long userId, Long itemId) {
+            return itemId == null ? null : "item";
+        }
+
+        @FlightRecorded
+        public int count(Long ownerId) {
+            return 1;
+        }
+
+        @FlightRecorded
+        public void fail(Long userId) {
+            throw new IllegalStateException("failed");
+        }
+
+        public String notRecorded(Long userId) {
+            return "not recorded";
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package ru.practicum.shareit.monitoring;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SqlMonitorTest {
+
+    private static final String ITEM_QUERY = "select * from items where id = ";
+    private static final String ITEM_FINGERPRINT = "select * from items where id = ?";
+
+    private SqlMonitor sqlMonitor;
+
+    @BeforeEach
+    void beforeEach() {
+        sqlMonitor = new SqlMonitor(Duration.ofSeconds(10), 20, 5);
+    }
+
+    @Test
+    void fingerprint_whenLiteralsAndWhitespace_thenNormalize() {
+        assertEquals("select * from users where id = ? and email = ?",
+                SqlMonitor.fingerprint("select *\n  from users where id = 42 and email = 'a@b.ru'"));
+    }
+
+    @Test
+    void requestFinished_whenStatementRepeated_thenReportInSnapshot() {
+        sqlMonitor.requestStarted("GET /items");
+        sqlMonitor.serviceEntered("ItemServiceImpl.findAll");
+        sqlMonitor.serviceEntered("UserServiceImpl.getById");
+        for (int id = 1; id <= 10; id++) {
+            sqlMonitor.afterQuery(new ExecutionInfo(), List.of(new QueryInfo(ITEM_QUERY + id)));
+        }
+        sqlMonitor.requestFinished("GET /items");
+
+        EntryPointSnapshot snapshot = sqlMonitor.snapshot().get("ItemServiceImpl.findAll");
+        assertEquals(1, snapshot.getRequests());
+        assertEquals(10, snapshot.getMaxStatements());
+        assertEquals(1, snapshot.getRepeatedStatements().get(ITEM_FINGERPRINT));
+    }
+
+    @Test
+    void requestFinished_whenFewStatements_thenNoRepeats() {
+        sqlMonitor.requestStarted("GET /items/1");
+        sqlMonitor.afterQuery(new ExecutionInfo(), List.of(new QueryInfo(ITEM_QUERY + 1)));
+        sqlMonitor.requestFinished("GET /items/{itemId}");
+
+        EntryPointSnapshot snapshot = sqlMonitor.snapshot().get("GET /items/{itemId}");
+        assertEquals(0, snapshot.getSlowRequests());
+        assertTrue(snapshot.getRepeatedStatements().isEmpty());
+    }
+
+    @Test
+    void afterQuery_whenOutsideRequest_thenIgnore() {
+        sqlMonitor.afterQuery(new ExecutionInfo(), List.of(new QueryInfo(ITEM_QUERY + 1)));
+        sqlMonitor.requestFinished("GET /items/{itemId}");
+
+        assertTrue(sqlMonitor.snapshot().isEmpty());
+    }
+
+    @Test
+    void doFilter_whenNoServiceReached_thenCountUnderRoutePattern() throws Exception {
+        SqlMonitorFilter filter = new SqlMonitorFilter(sqlMonitor);
+        for (int id = 1; id <= 3; id++) {
+            filter.doFilter(new MockHttpServletRequest("GET", "/nowhere/" + id), new MockHttpServletResponse(),
+                    new MockFilterChain());
+            filter.doFilter(new MockHttpServletRequest("GET", "/items/" + id), new MockHttpServletResponse(),
+                    (request, response) -> request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE,
+                            "/items/{itemId}"));
+        }
+
+        assertEquals(Set.of("unmatched", "GET /items/{itemId}"), sqlMonitor.snapshot().keySet());
+        assertEquals(3, sqlMonitor.snapshot().get("unmatched").getRequests());
+    }
+}
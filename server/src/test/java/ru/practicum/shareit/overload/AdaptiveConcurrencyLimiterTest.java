@@ -0,0 +1,80 @@
+package ru.practicum.shareit.overload;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final int INITIAL_LIMIT = 20;
+    private static final long WINDOW_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long FAST_RTT_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW_RTT_NANOS = TimeUnit.MILLISECONDS.toNanos(60);
+
+    private long now;
+    private AdaptiveConcurrencyLimiter limiter;
+
+    @BeforeEach
+    void beforeEach() {
+        now = 0;
+        limiter = new AdaptiveConcurrencyLimiter(INITIAL_LIMIT, 4, 200, () -> now);
+    }
+
+    @Test
+    void tryAcquire_whenLimitReached_thenReject() {
+        for (int i = 1; i <= INITIAL_LIMIT; i++) {
+            assertEquals(i, limiter.tryAcquire());
+        }
+
+        assertEquals(0, limiter.tryAcquire());
+        assertEquals(INITIAL_LIMIT, limiter.getInFlight());
+    }
+
+    @Test
+    void release_whenSaturatedWithFlatLatency_thenIncreaseLimit() {
+        runSaturatedWindows(20, FAST_RTT_NANOS);
+
+        assertTrue(limiter.getLimit() > INITIAL_LIMIT);
+    }
+
+    @Test
+    void release_whenLatencyGrows_thenDecreaseLimit() {
+        runSaturatedWindows(20, FAST_RTT_NANOS);
+        int limitBeforeSlowdown = limiter.getLimit();
+
+        runSaturatedWindows(10, SLOW_RTT_NANOS);
+
+        assertTrue(limiter.getLimit() < limitBeforeSlowdown);
+    }
+
+    @Test
+    void release_whenFewRequestsInFlight_thenKeepLimit() {
+        for (int window = 0; window < 20; window++) {
+            now += WINDOW_NANOS;
+            for (int i = 0; i < 10; i++) {
+                limiter.release(FAST_RTT_NANOS, limiter.tryAcquire());
+            }
+        }
+
+        assertEquals(INITIAL_LIMIT, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    private void runSaturatedWindows(int windows, long rttNanos) {
+        for (int window = 0; window < windows; window++) {
+            now += WINDOW_NANOS;
+            int limit = limiter.getLimit();
+            int[] inFlight = new int[limit];
+            for (int i = 0; i < limit; i++) {
+                inFlight[i] = limiter.tryAcquire();
+            }
+            for (int i = 0; i < limit; i++) {
+                limiter.release(rttNanos, inFlight[i]);
+            }
+        }
+    }
+}
@@ -10,10 +10,17 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import ru.practicum.shareit.exception.ShareItElementNotFoundException;
+import ru.practicum.shareit.exception.TooManyUsersException;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.dto.UserLookupDto;
+import ru.practicum.shareit.user.dto.UserProvisionResultDto;
+import ru.practicum.shareit.user.dto.UserProvisionStatus;
 import ru.practicum.shareit.user.service.UserServiceImpl;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsString;
@@ -104,7 +111,7 @@ class UserControllerTest {
 
     @Test
     void findAll_thenReturnOkAndListOfUSerDtos() throws Exception {
-        when(userService.findAll()).thenReturn(List.of(userOutDto));
+        when(userService.findPage(0L, 500)).thenReturn(List.of(userOutDto));
 
         String actualInString = mockMvc.perform(get("/users"))
                 .andExpect(status().isOk())
@@ -116,6 +123,89 @@ class UserControllerTest {
         assertEquals(expected, actualInString);
     }
 
+    @Test
+    void findAll_whenMorePagesThanOne_thenStreamAllPages() throws Exception {
+        List<UserDto> firstPage = LongStream.rangeClosed(1, 500)
+                .mapToObj(id -> userOutDto.toBuilder().id(id).build())
+                .collect(Collectors.toList());
+        UserDto last = userOutDto.toBuilder().id(501L).build();
+        when(userService.findPage(0L, 500)).thenReturn(firstPage);
+        when(userService.findPage(500L, 500)).thenReturn(List.of(last));
+
+        String actualInString = mockMvc.perform(get("/users"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        List<UserDto> all = new ArrayList<>(firstPage);
+        all.add(last);
+        String expected = objectMapper.writeValueAsString(all);
+
+        assertEquals(expected, actualInString);
+    }
+
+    @Test
+    void findPage_thenReturnOkAndPageAfterId() throws Exception {
+        when(userService.findPage(USER_ID, 20)).thenReturn(List.of(userOutDto));
+
+        String actualInString = mockMvc.perform(get("/users")
+                        .param("afterId", "1")
+                        .param("size", "20"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        String expected = objectMapper.writeValueAsString(List.of(userOutDto));
+
+        assertEquals(expected, actualInString);
+    }
+
+    @Test
+    void findAllByIds_thenReturnOkAndLookupsInRequestedOrder() throws Exception {
+        List<UserLookupDto> lookups = List.of(new UserLookupDto(2L, false, null),
+                new UserLookupDto(USER_ID, true, userOutDto));
+        when(userService.findAllByIds(List.of(2L, USER_ID))).thenReturn(lookups);
+
+        String actualInString = mockMvc.perform(get("/users").param("ids", "2,1"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        String expected = objectMapper.writeValueAsString(lookups);
+
+        assertEquals(expected, actualInString);
+    }
+
+    @Test
+    void provision_thenReturnOkAndResultPerRow() throws Exception {
+        List<UserProvisionResultDto> results = List.of(
+                new UserProvisionResultDto(USER_ID, "user@email.ru", UserProvisionStatus.UPDATED));
+        when(userService.provision(List.of(userInputDto))).thenReturn(results);
+
+        String actualInString = mockMvc.perform(post("/users/bulk")
+                        .contentType("application/json")
+                        .content(objectMapper.writeValueAsString(List.of(userInputDto))))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        String expected = objectMapper.writeValueAsString(results);
+
+        assertEquals(expected, actualInString);
+    }
+
+    @Test
+    void provision_whenTooManyUsers_thenReturnBadRequest() throws Exception {
+        when(userService.provision(List.of(userInputDto)))
+                .thenThrow(new TooManyUsersException("At most 5000 users can be provisioned at once."));
+
+        mockMvc.perform(post("/users/bulk")
+                        .contentType("application/json")
+                        .content(objectMapper.writeValueAsString(List.of(userInputDto))))
+                .andExpect(status().isBadRequest())
+                .andExpect(result -> assertTrue(result.getResolvedException() instanceof TooManyUsersException));
+    }
+
     @Test
     void update_whenUserExistInputValid_theReturnOkAndUserDto() throws Exception {
         userInputDto.setName("updated");
@@ -0,0 +1,251 @@
+package ru.practicum.shareit.user.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.exception.ShareItElementNotFoundException;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.service.UserServiceImpl;
+
+import javax.persistence.Cache;
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(
+        properties = "db.name=test",
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class UserCascadeDeleteTest {
+
+    private static final int CHUNK_SIZE = 1;
+    private static final LocalDateTime NOW = LocalDateTime.now();
+
+    private final UserServiceImpl userService;
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final ItemRequestRepository requestRepository;
+    private final BookingRepository bookingRepository;
+    private final CommentRepository commentRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    private User deleted;
+    private User other;
+    private User third;
+    private Item otherItemAnsweringRequest;
+    private Item othersItem;
+    private Item thirdItemAnsweringOthersRequest;
+    private ItemRequest othersRequest;
+    private Booking othersBooking;
+    private Booking thirdBooking;
+    private Comment thirdComment;
+    private final List<Long> userIds = new ArrayList<>();
+    private final List<Long> itemIds = new ArrayList<>();
+    private final List<Long> requestIds = new ArrayList<>();
+    private final List<Long> bookingIds = new ArrayList<>();
+    private final List<Long> commentIds = new ArrayList<>();
+
+    // the deleted user owns three items booked and commented on by others, books and comments on an item
+    // of another user and made two requests, one of them answered by another user's item
+    @BeforeEach
+    void beforeEach() {
+        deleted = user("deleted");
+        other = user("other");
+        third = user("third");
+
+        ItemRequest answeredRequest = request(deleted);
+        request(deleted);
+        othersRequest = request(other);
+
+        Item deletedItem1 = item(deleted, null);
+        Item deletedItem2 = item(deleted, null);
+        item(deleted, null);
+        otherItemAnsweringRequest = item(other, answeredRequest);
+        othersItem = item(other, null);
+        thirdItemAnsweringOthersRequest = item(third, othersRequest);
+
+        booking(deletedItem1, other);
+        booking(deletedItem1, other);
+        booking(deletedItem2, third);
+        booking(othersItem, deleted);
+        othersBooking = booking(thirdItemAnsweringOthersRequest, other);
+        thirdBooking = booking(othersItem, third);
+
+        comment(deletedItem1, other);
+        comment(othersItem, deleted);
+        thirdComment = comment(thirdItemAnsweringOthersRequest, third);
+    }
+
+    @AfterEach
+    void afterEach() {
+        transactionTemplate.execute(status -> userRepository.deleteWithReferencingRows(deleted.getId()));
+        for (Long userId : List.of(other.getId(), third.getId())) {
+            userService.delete(userId);
+        }
+    }
+
+    @Test
+    void deleteReferencingRows_whenCalledInChunks_thenDeleteOnlyRowsOfUser() {
+        int chunks = 0;
+        while (transactionTemplate.execute(status ->
+                userRepository.deleteReferencingRows(deleted.getId(), CHUNK_SIZE)) > 0) {
+            chunks++;
+        }
+
+        // 2 comments, 4 bookings, 1 unlinked answer, 3 items and 2 requests, one row per chunk
+        assertEquals(12, chunks);
+        assertEquals(Set.of(deleted.getId(), other.getId(), third.getId()), remaining("users", userIds));
+
+        Boolean existed = transactionTemplate.execute(status ->
+                userRepository.deleteWithReferencingRows(deleted.getId()));
+
+        assertEquals(Boolean.TRUE, existed);
+        assertOnlyRowsOfOtherUsersRemain();
+    }
+
+    @Test
+    void delete_thenDeleteUserWithReferencingRows() {
+        userService.delete(deleted.getId());
+
+        assertOnlyRowsOfOtherUsersRemain();
+        assertThrows(ShareItElementNotFoundException.class, () -> userService.delete(deleted.getId()));
+    }
+
+    @Test
+    void deleteWithReferencingRows_whenUserNotExist_thenReturnFalse() {
+        Boolean existed = transactionTemplate.execute(status -> userRepository.deleteWithReferencingRows(-1L));
+
+        assertEquals(Boolean.FALSE, existed);
+    }
+
+    @Test
+    void deleteWithReferencingRows_whenUserReadBeforeCommit_thenNotCachedAfterCommit() {
+        Cache cache = entityManagerFactory.getCache();
+        transactionTemplate.executeWithoutResult(status -> {
+            userRepository.deleteWithReferencingRows(deleted.getId());
+
+            // another transaction still finds the committed row and caches it again
+            assertTrue(findInOtherThread(deleted.getId()));
+            assertTrue(cache.contains(User.class, deleted.getId()));
+        });
+
+        assertFalse(cache.contains(User.class, deleted.getId()));
+        assertFalse(findInOtherThread(deleted.getId()));
+    }
+
+    private void assertOnlyRowsOfOtherUsersRemain() {
+        assertEquals(Set.of(other.getId(), third.getId()), remaining("users", userIds));
+        assertEquals(Set.of(othersRequest.getId()), remaining("requests", requestIds));
+        assertEquals(Set.of(otherItemAnsweringRequest.getId(), othersItem.getId(),
+                thirdItemAnsweringOthersRequest.getId()), remaining("items", itemIds));
+        assertEquals(Set.of(othersBooking.getId(), thirdBooking.getId()), remaining("bookings", bookingIds));
+        assertEquals(Set.of(thirdComment.getId()), remaining("comments", commentIds));
+        assertNull(requestIdOf(otherItemAnsweringRequest));
+        assertEquals(othersRequest.getId(), requestIdOf(thirdItemAnsweringOthersRequest));
+    }
+
+    private boolean findInOtherThread(Long userId) {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            return executor.submit(() -> userRepository.findById(userId).isPresent()).get(5, TimeUnit.SECONDS);
+        } catch (InterruptedException | ExecutionException | TimeoutException e) {
+            throw new IllegalStateException(e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Set<Long> remaining(String table, List<Long> ids) {
+        return Set.copyOf(jdbcTemplate.queryForList("select id from " + table + " where id in (:ids)",
+                Map.of("ids", ids), Long.class));
+    }
+
+    private Long requestIdOf(Item item) {
+        return jdbcTemplate.queryForObject("select request_id from items where id = :id",
+                Map.of("id", item.getId()), Long.class);
+    }
+
+    private User user(String name) {
+        User user = userRepository.save(User.builder()
+                .name(name)
+                .email(name + ".cascade@email.ru")
+                .build());
+        userIds.add(user.getId());
+        return user;
+    }
+
+    private ItemRequest request(User requester) {
+        ItemRequest request = requestRepository.save(ItemRequest.builder()
+                .description("request of " + requester.getName())
+                .requester(requester)
+                .created(NOW.minusWeeks(1))
+                .build());
+        requestIds.add(request.getId());
+        return request;
+    }
+
+    private Item item(User owner, ItemRequest request) {
+        Item item = itemRepository.save(Item.builder()
+                .name("item of " + owner.getName())
+                .description("description")
+                .available(true)
+                .owner(owner)
+                .request(request)
+                .build());
+        itemIds.add(item.getId());
+        return item;
+    }
+
+    private Booking booking(Item item, User booker) {
+        Booking booking = bookingRepository.save(Booking.builder()
+                .start(NOW.minusDays(2 + bookingIds.size()))
+                .end(NOW.minusDays(1 + bookingIds.size()))
+                .item(item)
+                .booker(booker)
+                .status(BookingStatus.APPROVED)
+                .build());
+        bookingIds.add(booking.getId());
+        return booking;
+    }
+
+    private Comment comment(Item item, User author) {
+        Comment comment = commentRepository.save(Comment.builder()
+                .text("comment of " + author.getName())
+                .item(item)
+                .author(author)
+                .created(NOW)
+                .build());
+        commentIds.add(comment.getId());
+        return comment;
+    }
+}
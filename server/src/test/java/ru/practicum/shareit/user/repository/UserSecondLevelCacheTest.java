@@ -0,0 +1,112 @@
+package ru.practicum.shareit.user.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.dto.UserProvisionResultDto;
+import ru.practicum.shareit.user.dto.UserProvisionStatus;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.service.UserServiceImpl;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(
+        properties = "db.name=test",
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class UserSecondLevelCacheTest {
+
+    private final UserServiceImpl userService;
+    private final UserRepository userRepository;
+    private final EntityManagerFactory entityManagerFactory;
+    private final TransactionTemplate transactionTemplate;
+
+    private Statistics statistics;
+    private Long userId;
+
+    @BeforeEach
+    void beforeEach() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        UserDto userInputDto = UserDto.builder()
+                .id(null)
+                .name("cachedUserName")
+                .email("cached.user@email.ru")
+                .build();
+        userId = userService.create(userInputDto).getId();
+    }
+
+    @AfterEach
+    void afterEach() {
+        userService.delete(userId);
+    }
+
+    @Test
+    void getById_whenUserLoadedTwice_thenSecondLoadHitsCache() {
+        userService.getById(userId);
+        long hitsBefore = statistics.getSecondLevelCacheHitCount();
+
+        UserDto actual = userService.getById(userId);
+
+        assertEquals(userId, actual.getId());
+        assertTrue(statistics.getSecondLevelCacheHitCount() > hitsBefore);
+    }
+
+    @Test
+    void provision_whenCachedUserUpdated_thenLoadReturnsNewName() {
+        userService.getById(userId);
+        UserDto renamed = UserDto.builder()
+                .name("provisionedName")
+                .email("Cached.User@email.ru")
+                .build();
+
+        List<UserProvisionResultDto> actual = userService.provision(List.of(renamed));
+
+        assertEquals(List.of(new UserProvisionResultDto(userId, "Cached.User@email.ru", UserProvisionStatus.UPDATED)),
+                actual);
+        assertEquals("provisionedName", userService.getById(userId).getName());
+    }
+
+    @Test
+    void updateAll_whenUserReadBeforeCommit_thenLoadReturnsNewNameAfterCommit() {
+        userService.getById(userId);
+        transactionTemplate.executeWithoutResult(status -> {
+            userRepository.updateAll(List.of(User.builder()
+                    .id(userId)
+                    .name("updatedName")
+                    .email("cached.user@email.ru")
+                    .build()));
+
+            // another transaction still reads the committed name and caches it again
+            assertEquals("cachedUserName", nameReadInOtherThread());
+        });
+
+        assertEquals("updatedName", userService.getById(userId).getName());
+    }
+
+    private String nameReadInOtherThread() {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            return executor.submit(() -> userService.getById(userId).getName()).get(5, TimeUnit.SECONDS);
+        } catch (InterruptedException | ExecutionException | TimeoutException e) {
+            throw new IllegalStateException(e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package ru.practicum.shareit.user.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class KnownEmailFilterTest {
+
+    private static final int EXPECTED_USERS = 10_000;
+
+    @Mock
+    private UserRepository userRepository;
+
+    private KnownEmailFilter knownEmailFilter;
+
+    @BeforeEach
+    void beforeEach() {
+        knownEmailFilter = new KnownEmailFilter(userRepository, EXPECTED_USERS, 0.01);
+    }
+
+    @Test
+    void mightContain_whenEmailsLoaded_thenTrue() {
+        when(userRepository.streamNormalizedEmails()).thenReturn(Stream.of("user@email.ru", "other@email.ru"));
+
+        knownEmailFilter.load();
+
+        assertTrue(knownEmailFilter.mightContain("user@email.ru"));
+        assertTrue(knownEmailFilter.mightContain("other@email.ru"));
+    }
+
+    @Test
+    void mightContain_whenEmailAdded_thenTrue() {
+        assertFalse(knownEmailFilter.mightContain("user@email.ru"));
+
+        knownEmailFilter.add("user@email.ru");
+
+        assertTrue(knownEmailFilter.mightContain("user@email.ru"));
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void mightContain_whenFilterFull_thenFewFalsePositives() {
+        for (int i = 0; i < EXPECTED_USERS; i++) {
+            knownEmailFilter.add("user" + i + "@email.ru");
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < EXPECTED_USERS; i++) {
+            assertTrue(knownEmailFilter.mightContain("user" + i + "@email.ru"));
+            if (knownEmailFilter.mightContain("new" + i + "@email.ru")) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < EXPECTED_USERS * 0.02);
+    }
+}
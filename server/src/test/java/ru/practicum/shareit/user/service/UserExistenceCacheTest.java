@@ -0,0 +1,126 @@
+package ru.practicum.shareit.user.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserExistenceCacheTest {
+
+    private static final Long USER_ID = 1L;
+    private static final Long OTHER_ID = 2L;
+
+    @Mock
+    private UserRepository userRepository;
+
+    private UserExistenceCache userExistenceCache;
+
+    @BeforeEach
+    void beforeEach() {
+        userExistenceCache = new UserExistenceCache(userRepository);
+    }
+
+    @Test
+    void exists_whenUserExistCheckedTwice_thenQueryRepositoryOnce() {
+        when(userRepository.existsById(USER_ID)).thenReturn(true);
+
+        assertTrue(userExistenceCache.exists(USER_ID));
+        assertTrue(userExistenceCache.exists(USER_ID));
+
+        verify(userRepository, times(1)).existsById(USER_ID);
+    }
+
+    @Test
+    void exists_whenUserNotExistCheckedTwice_thenQueryRepositoryOnce() {
+        when(userRepository.existsById(OTHER_ID)).thenReturn(false);
+
+        assertFalse(userExistenceCache.exists(OTHER_ID));
+        assertFalse(userExistenceCache.exists(OTHER_ID));
+
+        verify(userRepository, times(1)).existsById(OTHER_ID);
+    }
+
+    @Test
+    void exists_whenIdNotPositive_thenReturnFalseWithoutQuery() {
+        assertFalse(userExistenceCache.exists(0L));
+        assertFalse(userExistenceCache.exists(null));
+
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void remember_whenUserWasMissing_thenExists() {
+        when(userRepository.existsById(USER_ID)).thenReturn(false);
+        assertFalse(userExistenceCache.exists(USER_ID));
+
+        userExistenceCache.remember(USER_ID);
+
+        assertTrue(userExistenceCache.exists(USER_ID));
+        verify(userRepository, times(1)).existsById(USER_ID);
+    }
+
+    @Test
+    void forget_whenUserWasExisting_thenNotExists() {
+        when(userRepository.existsById(USER_ID)).thenReturn(true);
+        assertTrue(userExistenceCache.exists(USER_ID));
+
+        userExistenceCache.forget(USER_ID);
+
+        assertFalse(userExistenceCache.exists(USER_ID));
+        verify(userRepository, times(1)).existsById(USER_ID);
+    }
+
+    @Test
+    void exists_whenUserForgottenDuringQuery_thenNotCacheAsExisting() {
+        when(userRepository.existsById(USER_ID)).thenAnswer(invocation -> {
+            userExistenceCache.forget(USER_ID);
+            return true;
+        });
+
+        assertTrue(userExistenceCache.exists(USER_ID));
+
+        assertFalse(userExistenceCache.exists(USER_ID));
+        verify(userRepository, times(1)).existsById(USER_ID);
+    }
+
+    @Test
+    void exists_whenUserRememberedDuringQuery_thenNotCacheAsMissing() {
+        when(userRepository.existsById(USER_ID)).thenAnswer(invocation -> {
+            userExistenceCache.remember(USER_ID);
+            return false;
+        });
+
+        assertFalse(userExistenceCache.exists(USER_ID));
+
+        assertTrue(userExistenceCache.exists(USER_ID));
+        verify(userRepository, times(1)).existsById(USER_ID);
+    }
+
+    @Test
+    void exists_whenManyUsersRememberedAndSomeForgotten_thenKeepOthers() {
+        for (long id = 1; id <= 1000; id++) {
+            userExistenceCache.remember(id);
+        }
+        for (long id = 1; id <= 1000; id += 2) {
+            userExistenceCache.forget(id);
+        }
+
+        for (long id = 2; id <= 1000; id += 2) {
+            assertTrue(userExistenceCache.exists(id));
+        }
+        for (long id = 1; id <= 1000; id += 2) {
+            assertFalse(userExistenceCache.exists(id));
+        }
+        verifyNoInteractions(userRepository);
+    }
+}
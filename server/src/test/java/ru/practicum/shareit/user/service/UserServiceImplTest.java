@@ -7,14 +7,36 @@ import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.exception.EmailAlreadyExistsException;
+import ru.practicum.shareit.exception.IncorrectIdsException;
 import ru.practicum.shareit.exception.ShareItElementNotFoundException;
+import ru.practicum.shareit.exception.TooManyIdsException;
+import ru.practicum.shareit.exception.TooManyUsersException;
+import ru.practicum.shareit.item.service.ItemAvailabilityCache;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.dto.UserLookupDto;
+import ru.practicum.shareit.user.dto.UserProvisionResultDto;
+import ru.practicum.shareit.user.dto.UserProvisionStatus;
+import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 
+import java.sql.SQLException;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.samePropertyValuesAs;
@@ -24,6 +46,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -33,6 +56,14 @@ class UserServiceImplTest {
 
     @Mock
     private UserRepository userRepository;
+    @Mock
+    private UserExistenceCache userExistenceCache;
+    @Mock
+    private KnownEmailFilter knownEmailFilter;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    @Mock
+    private ItemAvailabilityCache itemAvailabilityCache;
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -70,6 +101,139 @@ class UserServiceImplTest {
 
         assertThat(actual, samePropertyValuesAs(expected));
         verify(userRepository, times(1)).save(ArgumentMatchers.any(User.class));
+        verify(userExistenceCache, times(1)).remember(USER_ID);
+        verify(userRepository, never()).existsByNormalizedEmail(ArgumentMatchers.anyString());
+        verify(knownEmailFilter, times(1)).add("user@email.ru");
+    }
+
+    @Test
+    void create_whenEmailTakenInOtherCase_thenThrowEmailAlreadyExists() {
+        userInputDto.setEmail(" User@Email.RU");
+        when(knownEmailFilter.mightContain("user@email.ru")).thenReturn(true);
+        when(userRepository.existsByNormalizedEmail("user@email.ru")).thenReturn(true);
+
+        Exception actual = assertThrows(EmailAlreadyExistsException.class,
+                () -> userService.create(userInputDto));
+
+        assertEquals("Email is already used by another user.", actual.getMessage());
+        verify(userRepository, never()).save(ArgumentMatchers.any(User.class));
+        verifyNoInteractions(userExistenceCache);
+    }
+
+    @Test
+    void update_whenNewEmailTaken_thenThrowEmailAlreadyExists() {
+        UserDto emailOnly = UserDto.builder().email("other@email.ru").build();
+        when(userRepository.findById(USER_ID)).thenReturn(Optional.of(user));
+        when(knownEmailFilter.mightContain("other@email.ru")).thenReturn(true);
+        when(userRepository.existsByNormalizedEmail("other@email.ru")).thenReturn(true);
+
+        assertThrows(EmailAlreadyExistsException.class, () -> userService.update(emailOnly, USER_ID));
+
+        assertEquals("user@email.ru", user.getEmail());
+        verify(userRepository, never()).save(ArgumentMatchers.any(User.class));
+    }
+
+    @Test
+    void provision_whenEmailsKnownAndNew_thenUpdateKnownAndInsertNew() {
+        List<UserDto> userDtos = List.of(
+                UserDto.builder().name("renamed").email("User@Email.ru").build(),
+                UserDto.builder().name("new").email("new@email.ru").build());
+        runTransactionsInline();
+        when(knownEmailFilter.mightContain("user@email.ru")).thenReturn(true);
+        when(userRepository.findIdsByNormalizedEmails(List.of("user@email.ru")))
+                .thenReturn(Map.of("user@email.ru", USER_ID));
+        when(userRepository.insertAll(ArgumentMatchers.anyList())).thenReturn(List.of(2L));
+
+        List<UserProvisionResultDto> actual = userService.provision(userDtos);
+
+        assertEquals(List.of(
+                new UserProvisionResultDto(USER_ID, "User@Email.ru", UserProvisionStatus.UPDATED),
+                new UserProvisionResultDto(2L, "new@email.ru", UserProvisionStatus.CREATED)), actual);
+        verify(userRepository, times(1)).updateAll(ArgumentMatchers.argThat(users -> users.size() == 1
+                && USER_ID.equals(users.get(0).getId()) && "renamed".equals(users.get(0).getName())));
+        verify(userExistenceCache, times(1)).remember(2L);
+        verify(knownEmailFilter, times(1)).add("new@email.ru");
+    }
+
+    @Test
+    void provision_whenTooManyUsers_thenThrowTooManyUsers() {
+        List<UserDto> userDtos = LongStream.rangeClosed(1, 5001)
+                .mapToObj(id -> UserDto.builder().name("user" + id).email("user" + id + "@email.ru").build())
+                .collect(Collectors.toList());
+
+        assertThrows(TooManyUsersException.class, () -> userService.provision(userDtos));
+
+        verifyNoInteractions(transactionTemplate);
+    }
+
+    @Test
+    void provision_whenFilterMissedConcurrentlyCreatedEmail_thenRetryLookingUpEveryEmail() {
+        List<UserDto> userDtos = List.of(
+                UserDto.builder().name("renamed").email("user@email.ru").build(),
+                UserDto.builder().name("new").email("new@email.ru").build());
+        runTransactionsInline();
+        when(knownEmailFilter.mightContain(ArgumentMatchers.anyString())).thenReturn(false);
+        when(userRepository.findIdsByNormalizedEmails(List.of())).thenReturn(Map.of());
+        when(userRepository.findIdsByNormalizedEmails(List.of("user@email.ru", "new@email.ru")))
+                .thenReturn(Map.of("user@email.ru", USER_ID));
+        when(userRepository.insertAll(ArgumentMatchers.anyList()))
+                .thenThrow(normalizedEmailViolation())
+                .thenReturn(List.of(2L));
+
+        List<UserProvisionResultDto> actual = userService.provision(userDtos);
+
+        assertEquals(List.of(
+                new UserProvisionResultDto(USER_ID, "user@email.ru", UserProvisionStatus.UPDATED),
+                new UserProvisionResultDto(2L, "new@email.ru", UserProvisionStatus.CREATED)), actual);
+        verify(userRepository, times(1)).findIdsByNormalizedEmails(List.of());
+        verify(userRepository, times(1)).insertAll(ArgumentMatchers.argThat(users -> users.size() == 1
+                && "new@email.ru".equals(users.get(0).getEmail())));
+        verify(userRepository, times(1)).updateAll(ArgumentMatchers.argThat(users -> users.size() == 1
+                && USER_ID.equals(users.get(0).getId())));
+        verify(knownEmailFilter, times(1)).add("new@email.ru");
+        verify(knownEmailFilter, never()).add("user@email.ru");
+    }
+
+    @Test
+    void provision_whenRetryViolatesEmailAgain_thenThrowEmailAlreadyExists() {
+        List<UserDto> userDtos = List.of(UserDto.builder().name("new").email("new@email.ru").build());
+        runTransactionsInline();
+        when(userRepository.insertAll(ArgumentMatchers.anyList())).thenThrow(normalizedEmailViolation());
+
+        assertThrows(EmailAlreadyExistsException.class, () -> userService.provision(userDtos));
+
+        verify(userRepository, times(2)).insertAll(ArgumentMatchers.anyList());
+        verify(knownEmailFilter, never()).add(ArgumentMatchers.anyString());
+        verify(userExistenceCache, never()).remember(ArgumentMatchers.anyLong());
+    }
+
+    @Test
+    void provision_whenOtherConstraintViolated_thenRethrowWithoutRetry() {
+        List<UserDto> userDtos = List.of(UserDto.builder().name("new").email("new@email.ru").build());
+        runTransactionsInline();
+        DataIntegrityViolationException violation = new DataIntegrityViolationException("value too long");
+        when(userRepository.insertAll(ArgumentMatchers.anyList())).thenThrow(violation);
+
+        assertThrows(DataIntegrityViolationException.class, () -> userService.provision(userDtos));
+
+        verify(userRepository, times(1)).insertAll(ArgumentMatchers.anyList());
+    }
+
+    @Test
+    void create_whenTransactionActive_thenAddEmailToFilterAfterCommit() {
+        when(userRepository.save(ArgumentMatchers.any(User.class))).thenReturn(user);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            userService.create(userInputDto);
+
+            verify(knownEmailFilter, never()).add(ArgumentMatchers.anyString());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(knownEmailFilter, times(1)).add("user@email.ru");
     }
 
     @Test
@@ -94,14 +258,46 @@ class UserServiceImplTest {
     }
 
     @Test
-    void findAll_whenUsersExist_thenReturnListOfDtos() {
-        when(userRepository.findAll()).thenReturn(List.of(user));
+    void findPage_whenUsersExist_thenReturnPageAfterId() {
+        when(userRepository.findPageAfter(0L, PageRequest.of(0, 10))).thenReturn(List.of(userOutDto));
         List<UserDto> expected = List.of(userOutDto);
 
-        List<UserDto> actual = userService.findAll();
+        List<UserDto> actual = userService.findPage(0L, 10);
 
         assertEqualLists(expected, actual);
-        verify(userRepository, times(1)).findAll();
+        verify(userRepository, times(1)).findPageAfter(0L, PageRequest.of(0, 10));
+    }
+
+    @Test
+    void findAllByIds_whenSomeUsersNotExist_thenReturnInRequestedOrderWithMarkers() {
+        User other = User.builder().id(3L).name("otherName").email("other@email.ru").build();
+        when(userRepository.findAllById(Set.of(3L, 2L, USER_ID))).thenReturn(List.of(user, other));
+        List<UserLookupDto> expected = List.of(
+                new UserLookupDto(3L, true, UserMapper.toUserDto(other)),
+                new UserLookupDto(2L, false, null),
+                new UserLookupDto(USER_ID, true, userOutDto),
+                new UserLookupDto(3L, true, UserMapper.toUserDto(other)));
+
+        List<UserLookupDto> actual = userService.findAllByIds(List.of(3L, 2L, USER_ID, 3L));
+
+        assertEquals(expected, actual);
+        verify(userRepository, times(1)).findAllById(Set.of(3L, 2L, USER_ID));
+    }
+
+    @Test
+    void findAllByIds_whenTooManyIds_thenThrowTooManyIds() {
+        List<Long> ids = LongStream.rangeClosed(1, 101).boxed().collect(Collectors.toList());
+
+        assertThrows(TooManyIdsException.class, () -> userService.findAllByIds(ids));
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void findAllByIds_whenIdIsEmpty_thenThrowIncorrectIds() {
+        List<Long> ids = Arrays.asList(USER_ID, null);
+
+        assertThrows(IncorrectIdsException.class, () -> userService.findAllByIds(ids));
+        verifyNoInteractions(userRepository);
     }
 
     @Test
@@ -134,9 +330,40 @@ class UserServiceImplTest {
     }
 
     @Test
-    void delete() {
+    void delete_whenUserHasLongHistory_thenDeleteInChunksThenUser() {
+        runTransactionsInline();
+        when(userRepository.deleteReferencingRows(USER_ID, 1000)).thenReturn(1000, 1000, 0);
+        when(userRepository.deleteWithReferencingRows(USER_ID)).thenReturn(true);
+
         userService.delete(USER_ID);
-        verify(userRepository, times(1)).deleteById(USER_ID);
+
+        verify(userRepository, times(3)).deleteReferencingRows(USER_ID, 1000);
+        verify(userRepository, times(1)).deleteWithReferencingRows(USER_ID);
+        verify(transactionTemplate, times(4)).execute(ArgumentMatchers.any());
+        verify(userExistenceCache, times(1)).forget(USER_ID);
+        verify(itemAvailabilityCache, times(1)).clear();
+    }
+
+    @Test
+    void delete_whenUserNotExist_thenThrowNotFound() {
+        runTransactionsInline();
+        when(userRepository.deleteReferencingRows(USER_ID, 1000)).thenReturn(0);
+        when(userRepository.deleteWithReferencingRows(USER_ID)).thenReturn(false);
+
+        Exception actual = assertThrows(ShareItElementNotFoundException.class, () -> userService.delete(USER_ID));
+
+        assertEquals("User not found.", actual.getMessage());
+        verifyNoInteractions(userExistenceCache, itemAvailabilityCache);
+    }
+
+    private static DataIntegrityViolationException normalizedEmailViolation() {
+        return new DataIntegrityViolationException("could not execute statement", new ConstraintViolationException(
+                "duplicate key", new SQLException("duplicate key value"), "UQ_USER_NORMALIZED_EMAIL"));
+    }
+
+    private void runTransactionsInline() {
+        when(transactionTemplate.execute(ArgumentMatchers.any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
     }
 
     private static <T> void assertEqualLists(List<T> expected, List<T> actual) {
@@ -0,0 +1,25 @@
+package ru.practicum.shareit.tracing;
+
+import brave.handler.MutableSpan;
+import brave.handler.SpanHandler;
+import brave.propagation.TraceContext;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+public class LoggingSpanHandler extends SpanHandler {
+
+    @Override
+    public boolean end(TraceContext context, MutableSpan span, Cause cause) {
+        if (cause == Cause.FINISHED && log.isInfoEnabled()) {
+            log.info("trace={} span={} parent={} kind={} name={} durationMicros={} tags={}",
+                    context.traceIdString(),
+                    context.spanIdString(),
+                    context.parentIdString(),
+                    span.kind(),
+                    span.name(),
+                    span.finishTimestamp() - span.startTimestamp(),
+                    span.tags());
+        }
+        return true;
+    }
+}